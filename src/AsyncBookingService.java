@@ -0,0 +1,177 @@
+// AsyncBookingService: non-blocking API over FlightBookingSystem for callers embedding it as a library
+//
+// Every call runs on a bounded I/O pool and returns a CompletableFuture. Failures complete the
+// future exceptionally with a BookingException whose code says what went wrong. Multi-step calls
+// run as a single task, so SERVICE_BUSY can only happen before anything has been written.
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class AsyncBookingService implements AutoCloseable {
+    private static final int DEFAULT_THREADS = 8;
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private final FlightBookingSystem system;
+    private final ThreadPoolExecutor ioExecutor;
+
+    public AsyncBookingService(FlightBookingSystem system) {
+        this(system, DEFAULT_THREADS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public AsyncBookingService(FlightBookingSystem system, int threads, int queueCapacity) {
+        this.system = system;
+        AtomicInteger threadCount = new AtomicInteger(1);
+        // Bounded queue: when it is full new calls fail fast with SERVICE_BUSY instead of piling up
+        this.ioExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+            // each worker holds its own DB connection; close it when the worker exits on shutdown
+            Thread t = new Thread(() -> {
+                try {
+                    r.run();
+                } finally {
+                    DatabaseHelper.closeThreadConnection();
+                }
+            }, "booking-io-" + threadCount.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public CompletableFuture<List<Flight>> searchFlightsAsync(String origin, String destination, LocalDate date) {
+        return submit(() -> system.searchFlights(origin, destination, date));
+    }
+
+    public CompletableFuture<Passenger> registerPassengerAsync(String firstName, String lastName, String email,
+                                                               String phoneNumber, int age) {
+        return submit(() -> system.registerPassengerOrThrow(firstName, lastName, email, phoneNumber, age));
+    }
+
+    public CompletableFuture<Passenger> findPassengerAsync(String passengerId) {
+        return submit(() -> {
+            Passenger passenger = system.findPassenger(passengerId);
+            if (passenger == null) {
+                throw new BookingException(BookingErrorCode.PASSENGER_NOT_FOUND, "Passenger not found: " + passengerId);
+            }
+            return passenger;
+        });
+    }
+
+    public CompletableFuture<Booking> bookTicketAsync(Passenger passenger, String flightNumber) {
+        return submit(() -> system.bookTicketOrThrow(passenger, flightNumber));
+    }
+
+    // Lookup and booking run in one task, so capacity is only checked once, when the call comes in
+    public CompletableFuture<Booking> bookTicketAsync(String passengerId, String flightNumber) {
+        return submit(() -> {
+            Passenger passenger = system.findPassenger(passengerId);
+            if (passenger == null) {
+                throw new BookingException(BookingErrorCode.PASSENGER_NOT_FOUND, "Passenger not found: " + passengerId);
+            }
+            return system.bookTicketOrThrow(passenger, flightNumber);
+        });
+    }
+
+    // Register a passenger and book their ticket in one task: once admitted, the booking step cannot be
+    // rejected for capacity. If the booking fails anyway, the exception carries the registered passenger.
+    public CompletableFuture<Booking> registerAndBookAsync(String firstName, String lastName, String email,
+                                                           String phoneNumber, int age, String flightNumber) {
+        return submit(() -> {
+            Passenger passenger = system.registerPassengerOrThrow(firstName, lastName, email, phoneNumber, age);
+            try {
+                return system.bookTicketOrThrow(passenger, flightNumber);
+            } catch (BookingException e) {
+                throw new BookingException(e.getCode(), e.getMessage(), e, passenger);
+            }
+        });
+    }
+
+    public CompletableFuture<SeatHold> holdSeatsAsync(Passenger passenger, String flightNumber, int seatCount,
+                                                      Duration ttl) {
+        return submit(() -> system.holdSeatsOrThrow(passenger, flightNumber, seatCount, ttl));
+    }
+
+    public CompletableFuture<List<Booking>> confirmHoldAsync(String holdId) {
+        return submit(() -> system.confirmHoldOrThrow(holdId));
+    }
+
+    public CompletableFuture<Void> releaseHoldAsync(String holdId) {
+        return submit(() -> {
+            if (!system.releaseHold(holdId)) {
+                throw new BookingException(BookingErrorCode.HOLD_NOT_FOUND, "Hold not found, already used or expired.");
+            }
+            return null;
+        });
+    }
+
+    // Completes with the waitlist entry; its booking ID is set once the passenger is promoted
+    public CompletableFuture<WaitlistEntry> joinWaitlistAsync(Passenger passenger, String flightNumber, int priority) {
+        return submit(() -> system.joinWaitlistOrThrow(passenger, flightNumber, priority));
+    }
+
+    public CompletableFuture<Void> cancelBookingAsync(String bookingId) {
+        return submit(() -> {
+            system.cancelBookingOrThrow(bookingId);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Booking> getBookingDetailsAsync(String bookingId) {
+        return submit(() -> {
+            Booking booking = system.getBookingDetails(bookingId);
+            if (booking == null) {
+                throw new BookingException(BookingErrorCode.BOOKING_NOT_FOUND, "Booking not found with ID: " + bookingId);
+            }
+            return booking;
+        });
+    }
+
+    public CompletableFuture<List<Booking>> getPassengerBookingsAsync(String passengerId) {
+        return submit(() -> system.getPassengerBookings(passengerId));
+    }
+
+    // Error code of a failed future's exception, or null if it did not fail with a BookingException
+    public static BookingErrorCode errorCodeOf(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof BookingException ? ((BookingException) cause).getCode() : null;
+    }
+
+    @Override
+    public void close() {
+        ioExecutor.shutdown();
+        try {
+            if (!ioExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                ioExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            ioExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            ioExecutor.execute(() -> {
+                try {
+                    future.complete(task.get());
+                } catch (BookingException e) {
+                    future.completeExceptionally(e);
+                } catch (Exception e) {
+                    future.completeExceptionally(new BookingException(BookingErrorCode.INTERNAL_ERROR, e.getMessage(), e));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new BookingException(BookingErrorCode.SERVICE_BUSY,
+                    "Booking service is at capacity, try again later", e));
+        }
+        return future;
+    }
+}
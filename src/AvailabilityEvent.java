@@ -0,0 +1,60 @@
+// AvailabilityEvent: one seat-availability or booking-status change pushed to subscribers
+class AvailabilityEvent {
+    enum Type {
+        SEATS_BOOKED,
+        SEATS_RELEASED,
+        SEATS_HELD,
+        HOLD_RELEASED,
+        BOOKING_CONFIRMED,
+        BOOKING_CANCELLED
+    }
+
+    private final long sequence;
+    private final long timestampMillis;
+    private final Type type;
+    private final String flightNumber;
+    private final String origin;
+    private final String destination;
+    private final int availableSeats;
+    private final int totalSeats;
+    private final String bookingId; // only set for booking events
+
+    public AvailabilityEvent(long sequence, long timestampMillis, Type type, String flightNumber, String origin,
+                             String destination, int availableSeats, int totalSeats, String bookingId) {
+        this.sequence = sequence;
+        this.timestampMillis = timestampMillis;
+        this.type = type;
+        this.flightNumber = flightNumber;
+        this.origin = origin;
+        this.destination = destination;
+        this.availableSeats = availableSeats;
+        this.totalSeats = totalSeats;
+        this.bookingId = bookingId;
+    }
+
+    // Getters
+    public long getSequence() { return sequence; }
+    public long getTimestampMillis() { return timestampMillis; }
+    public Type getType() { return type; }
+    public String getFlightNumber() { return flightNumber; }
+    public String getOrigin() { return origin; }
+    public String getDestination() { return destination; }
+    public int getAvailableSeats() { return availableSeats; }
+    public int getTotalSeats() { return totalSeats; }
+    public String getBookingId() { return bookingId; }
+
+    public boolean isBookingEvent() {
+        return bookingId != null;
+    }
+
+    // Events with the same key may be conflated: only the latest one matters to a slow consumer
+    public String conflationKey() {
+        return isBookingEvent() ? "B:" + bookingId : "F:" + flightNumber;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + type + " " + flightNumber + " (" + origin + " → " + destination + ") "
+                + availableSeats + "/" + totalSeats + (bookingId != null ? " " + bookingId : "");
+    }
+}
@@ -0,0 +1,73 @@
+// AvailabilityFeed: publish/subscribe hub for seat-availability and booking-status changes
+//
+// Flight and Booking publish here as seats change; clients subscribe instead of polling
+// displayAllFlights or searchFlights.
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+class AvailabilityFeed {
+    private static final int DEFAULT_BUFFER_CAPACITY = 4096;
+    private static final int DEFAULT_MAX_BATCH = 256;
+
+    private static final List<AvailabilitySubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private static final AtomicLong sequence = new AtomicLong();
+
+    private AvailabilityFeed() { }
+
+    // Subscribe to every event accepted by the filter; the filter runs on the subscription's own thread
+    public static AvailabilitySubscription subscribe(Predicate<AvailabilityEvent> filter,
+                                                     Consumer<List<AvailabilityEvent>> listener) {
+        return subscribe(filter, listener, DEFAULT_BUFFER_CAPACITY, DEFAULT_MAX_BATCH);
+    }
+
+    public static AvailabilitySubscription subscribe(Predicate<AvailabilityEvent> filter,
+                                                     Consumer<List<AvailabilityEvent>> listener,
+                                                     int bufferCapacity, int maxBatchSize) {
+        return register(new AvailabilitySubscription(null, null, null, filter, listener,
+                bufferCapacity, maxBatchSize));
+    }
+
+    // Subscribe to changes on one flight
+    public static AvailabilitySubscription subscribeFlight(String flightNumber,
+                                                           Consumer<List<AvailabilityEvent>> listener) {
+        return register(new AvailabilitySubscription(flightNumber, null, null, event -> true, listener,
+                DEFAULT_BUFFER_CAPACITY, DEFAULT_MAX_BATCH));
+    }
+
+    // Subscribe to changes on every flight of a route
+    public static AvailabilitySubscription subscribeRoute(String origin, String destination,
+                                                          Consumer<List<AvailabilityEvent>> listener) {
+        return register(new AvailabilitySubscription(null, origin, destination, event -> true, listener,
+                DEFAULT_BUFFER_CAPACITY, DEFAULT_MAX_BATCH));
+    }
+
+    private static AvailabilitySubscription register(AvailabilitySubscription subscription) {
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    static void unsubscribe(AvailabilitySubscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    // Seat count changed on a flight
+    static void publish(AvailabilityEvent.Type type, Flight flight, int availableSeats) {
+        publish(type, flight, availableSeats, null);
+    }
+
+    // Booking status changed; availableSeats is the flight's count at that moment
+    static void publish(AvailabilityEvent.Type type, Flight flight, int availableSeats, String bookingId) {
+        if (subscriptions.isEmpty()) {
+            return; // nobody listening: keep the booking path free of allocation
+        }
+        AvailabilityEvent event = new AvailabilityEvent(sequence.incrementAndGet(), System.currentTimeMillis(),
+                type, flight.getFlightNumber(), flight.getOrigin(), flight.getDestination(),
+                availableSeats, flight.getTotalSeats(), bookingId);
+        for (AvailabilitySubscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+}
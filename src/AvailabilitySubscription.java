@@ -0,0 +1,155 @@
+// AvailabilitySubscription: one subscriber's filtered, buffered view of the availability feed
+//
+// Publishers only ever do a non-blocking offer into this subscriber's ring buffer. If the buffer
+// is full the event is conflated instead (latest per flight or booking wins), so a slow consumer
+// loses intermediate states but never stalls the booking path. A daemon thread delivers batches;
+// it sleeps until an event arrives, so an idle subscription costs no CPU.
+//
+// The subscriber's own filter runs on that dispatcher thread, never on the publisher's. The only
+// check on the booking path is the built-in flight or route key, a plain string comparison.
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+class AvailabilitySubscription implements AutoCloseable {
+    private final String flightNumber; // built-in keys checked at publish time; null matches any
+    private final String origin;
+    private final String destination;
+    private final Predicate<AvailabilityEvent> filter;
+    private final Consumer<List<AvailabilityEvent>> listener;
+    private final int maxBatchSize;
+    private final EventRingBuffer<AvailabilityEvent> buffer;
+    private final Map<String, AvailabilityEvent> conflated;
+    private final AtomicLong conflatedCount;
+    private final Thread dispatcher;
+    private volatile boolean open;
+    private volatile boolean idle; // dispatcher is (about to be) parked and needs a wake-up
+
+    AvailabilitySubscription(String flightNumber, String origin, String destination,
+                             Predicate<AvailabilityEvent> filter, Consumer<List<AvailabilityEvent>> listener,
+                             int bufferCapacity, int maxBatchSize) {
+        this.flightNumber = flightNumber;
+        this.origin = origin;
+        this.destination = destination;
+        this.filter = filter;
+        this.listener = listener;
+        this.maxBatchSize = maxBatchSize;
+        this.buffer = new EventRingBuffer<>(bufferCapacity);
+        this.conflated = new ConcurrentHashMap<>();
+        this.conflatedCount = new AtomicLong();
+        this.open = true;
+        this.dispatcher = new Thread(this::dispatchLoop, "availability-feed");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    // Called on the booking path: must never block, so no subscriber code runs here
+    void offer(AvailabilityEvent event) {
+        if (!open || !matchesKeys(event)) {
+            return;
+        }
+        if (!buffer.offer(event)) {
+            conflated.merge(event.conflationKey(), event,
+                    (older, newer) -> newer.getSequence() > older.getSequence() ? newer : older);
+            conflatedCount.incrementAndGet();
+        }
+        if (idle) {
+            LockSupport.unpark(dispatcher);
+        }
+    }
+
+    // Number of events that were merged into a newer one because the buffer was full
+    public long getConflatedCount() {
+        return conflatedCount.get();
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() {
+        open = false;
+        AvailabilityFeed.unsubscribe(this);
+        LockSupport.unpark(dispatcher);
+    }
+
+    private void dispatchLoop() {
+        List<AvailabilityEvent> batch = new ArrayList<>(maxBatchSize);
+        Map<String, Long> lastDelivered = new HashMap<>(); // per-flight, to drop stale conflated events
+        while (open) {
+            collect(batch);
+            if (batch.isEmpty()) {
+                // Announce the park, then look once more: an offer either lands before this second look
+                // or sees idle == true and unparks us (a permit taken before park() makes it return at once)
+                idle = true;
+                collect(batch);
+                if (batch.isEmpty() && open) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+                continue;
+            }
+
+            batch.sort(Comparator.comparingLong(AvailabilityEvent::getSequence));
+            batch.removeIf(event -> {
+                if (!accepts(event)) {
+                    return true;
+                }
+                if (event.isBookingEvent()) {
+                    return false;
+                }
+                Long last = lastDelivered.get(event.getFlightNumber());
+                if (last != null && last > event.getSequence()) {
+                    return true;
+                }
+                lastDelivered.put(event.getFlightNumber(), event.getSequence());
+                return false;
+            });
+
+            try {
+                if (!batch.isEmpty()) {
+                    listener.accept(new ArrayList<>(batch));
+                }
+            } catch (Exception e) {
+                System.out.println("❌ Availability subscriber failed: " + e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    private boolean matchesKeys(AvailabilityEvent event) {
+        return (flightNumber == null || flightNumber.equals(event.getFlightNumber()))
+                && (origin == null || origin.equalsIgnoreCase(event.getOrigin()))
+                && (destination == null || destination.equalsIgnoreCase(event.getDestination()));
+    }
+
+    // Subscriber filter, run on the dispatcher thread; a filter that throws drops the event
+    private boolean accepts(AvailabilityEvent event) {
+        try {
+            return filter.test(event);
+        } catch (Exception e) {
+            System.out.println("❌ Availability subscriber filter failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void collect(List<AvailabilityEvent> batch) {
+        buffer.drainTo(batch, maxBatchSize);
+        if (!conflated.isEmpty()) {
+            for (String key : conflated.keySet()) {
+                AvailabilityEvent event = conflated.remove(key); // takes whatever is newest right now
+                if (event != null) {
+                    batch.add(event);
+                }
+            }
+        }
+    }
+}
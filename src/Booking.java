@@ -1,12 +1,11 @@
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 class Booking {
     private final String bookingId;
     private final Passenger passenger;
     private final Flight flight;
     private final LocalDateTime bookingTime;
     private String status; // CONFIRMED, CANCELLED
-    private final String seatNumber;
+    private String seatNumber; // "TBA" until an overbooked passenger is given a real seat
 
     public Booking(String bookingId, Passenger passenger, Flight flight, String seatNumber) {
         this.bookingId = bookingId;
@@ -17,6 +16,17 @@ class Booking {
         this.status = "CONFIRMED";
     }
 
+    // Rebuild a booking that was recorded earlier (e.g. received from another node)
+    public Booking(String bookingId, Passenger passenger, Flight flight, String seatNumber,
+                   LocalDateTime bookingTime, String status) {
+        this.bookingId = bookingId;
+        this.passenger = passenger;
+        this.flight = flight;
+        this.seatNumber = seatNumber;
+        this.bookingTime = bookingTime;
+        this.status = status;
+    }
+
     // Getters
     public String getBookingId() { return bookingId; }
     public Passenger getPassenger() { return passenger; }
@@ -25,48 +35,21 @@ class Booking {
     public String getStatus() { return status; }
     public String getSeatNumber() { return seatNumber; }
 
+    // Give an overbooked booking its real seat; the caller holds the flight's lock
+    void assignSeat(String seatNumber) { this.seatNumber = seatNumber; }
+
     public void cancelBooking() {
-        this.status = "CANCELLED";
-        flight.cancelSeat();
+        // under the flight's lock so the seat cannot be reassigned between reading and releasing it
+        synchronized (flight) {
+            this.status = "CANCELLED";
+            flight.cancelSeat(seatNumber);
+        }
+        AvailabilityFeed.publish(AvailabilityEvent.Type.BOOKING_CANCELLED, flight, flight.getSellableSeats(), bookingId);
     }
 
     @Override
     public String toString() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-        String border = "=============================================";
-        return String.format(
-                "%s\n" +
-                        "|              ✈️  FLIGHT TICKET               |\n" +
-                        "%s\n" +
-                        "| Booking ID : %-30s |\n" +
-                        "| Passenger  : %-30s |\n" +
-                        "| Status     : %-30s |\n" +
-                        "%s\n" +
-                        "| Flight     : %-30s |\n" +
-                        "| Airline    : %-30s |\n" +
-                        "| Route      : %-14s → %-13s |\n" +
-                        "| Departure  : %-30s |\n" +
-                        "| Seat       : %-30s |\n" +
-                        "%s\n" +
-                        "| Amount Paid: $%-29.2f |\n" +
-                        "| Booked On  : %-30s |\n" +
-                        "%s",
-                border,
-                border,
-                bookingId,
-                passenger.getFullName(),
-                status,
-                border,
-                flight.getFlightNumber(),
-                flight.getAirline(),
-                flight.getOrigin(), flight.getDestination(),
-                flight.getDepartureTime().format(formatter),
-                seatNumber,
-                border,
-                flight.getPrice(),
-                bookingTime.format(formatter),
-                border
-        );
+        return ListingRenderer.ticketText(this);
     }
 
 }
@@ -0,0 +1,114 @@
+// BookingDao: SQL for the bookings table
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class BookingDao {
+    private static final String FIND_ALL_WITH_PASSENGERS =
+            "SELECT b.bookingId, b.passengerId, b.flightNumber, b.seatNumber, b.bookingTime, b.status, " +
+                    "p.firstName, p.lastName, p.email, p.phoneNumber, p.age " +
+                    "FROM bookings b LEFT JOIN passengers p ON p.passengerId = b.passengerId";
+    private static final String INSERT =
+            "INSERT INTO bookings (bookingId, passengerId, flightNumber, seatNumber, bookingTime, status) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_STATUS =
+            "UPDATE bookings SET status = ? WHERE bookingId = ? AND status = ?";
+    private static final String UPDATE_SEAT_NUMBER =
+            "UPDATE bookings SET seatNumber = ? WHERE bookingId = ? AND status = 'CONFIRMED' AND seatNumber = ?";
+    private static final String FIND_BY_ID =
+            "SELECT bookingId, passengerId, flightNumber, seatNumber, bookingTime, status FROM bookings WHERE bookingId = ?";
+
+    // One stored booking; passenger is null if the passengers row is missing
+    static class Row {
+        final String bookingId;
+        final String passengerId;
+        final String flightNumber;
+        final String seatNumber;
+        final LocalDateTime bookingTime;
+        final String status;
+        final Passenger passenger;
+
+        Row(String bookingId, String passengerId, String flightNumber, String seatNumber,
+            LocalDateTime bookingTime, String status, Passenger passenger) {
+            this.bookingId = bookingId;
+            this.passengerId = passengerId;
+            this.flightNumber = flightNumber;
+            this.seatNumber = seatNumber;
+            this.bookingTime = bookingTime;
+            this.status = status;
+            this.passenger = passenger;
+        }
+    }
+
+    private BookingDao() { }
+
+    public static List<Row> findAllWithPassengers() throws SQLException {
+        List<Row> rows = new ArrayList<>();
+        try (ResultSet rs = DatabaseHelper.executeQuery(DatabaseHelper.prepare(FIND_ALL_WITH_PASSENGERS))) {
+            while (rs.next()) {
+                String passengerId = rs.getString("passengerId");
+                Passenger passenger = null;
+                if (rs.getString("firstName") != null) {
+                    passenger = new Passenger(passengerId, rs.getString("firstName"), rs.getString("lastName"),
+                            rs.getString("email"), rs.getString("phoneNumber"), rs.getInt("age"));
+                }
+                rows.add(new Row(
+                        rs.getString("bookingId"),
+                        passengerId,
+                        rs.getString("flightNumber"),
+                        rs.getString("seatNumber"),
+                        rs.getTimestamp("bookingTime").toLocalDateTime(),
+                        rs.getString("status"),
+                        passenger
+                ));
+            }
+        }
+        return rows;
+    }
+
+    public static void insert(Booking booking) throws SQLException {
+        PreparedStatement pstmt = DatabaseHelper.prepare(INSERT);
+        pstmt.setString(1, booking.getBookingId());
+        pstmt.setString(2, booking.getPassenger().getPassengerId());
+        pstmt.setString(3, booking.getFlight().getFlightNumber());
+        pstmt.setString(4, booking.getSeatNumber());
+        pstmt.setTimestamp(5, Timestamp.valueOf(booking.getBookingTime()));
+        pstmt.setString(6, booking.getStatus());
+        DatabaseHelper.executeUpdate(pstmt);
+    }
+
+    // Change the status only if it is still expectedStatus; returns the number of rows changed
+    public static int updateStatus(String bookingId, String expectedStatus, String newStatus) throws SQLException {
+        PreparedStatement pstmt = DatabaseHelper.prepare(UPDATE_STATUS);
+        pstmt.setString(1, newStatus);
+        pstmt.setString(2, bookingId);
+        pstmt.setString(3, expectedStatus);
+        return DatabaseHelper.executeUpdate(pstmt);
+    }
+
+    // Move a confirmed booking from expectedSeat to newSeat; returns the number of rows changed
+    public static int updateSeatNumber(String bookingId, String expectedSeat, String newSeat) throws SQLException {
+        PreparedStatement pstmt = DatabaseHelper.prepare(UPDATE_SEAT_NUMBER);
+        pstmt.setString(1, newSeat);
+        pstmt.setString(2, bookingId);
+        pstmt.setString(3, expectedSeat);
+        return DatabaseHelper.executeUpdate(pstmt);
+    }
+
+    // A stored booking without its passenger, or null if there is none
+    public static Row findById(String bookingId) throws SQLException {
+        PreparedStatement pstmt = DatabaseHelper.prepare(FIND_BY_ID);
+        pstmt.setString(1, bookingId);
+        try (ResultSet rs = DatabaseHelper.executeQuery(pstmt)) {
+            if (!rs.next()) {
+                return null;
+            }
+            return new Row(rs.getString("bookingId"), rs.getString("passengerId"), rs.getString("flightNumber"),
+                    rs.getString("seatNumber"), rs.getTimestamp("bookingTime").toLocalDateTime(),
+                    rs.getString("status"), null);
+        }
+    }
+}
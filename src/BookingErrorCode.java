@@ -0,0 +1,18 @@
+// Error codes reported by booking operations
+enum BookingErrorCode {
+    INVALID_PHONE,
+    INVALID_EMAIL,
+    INVALID_AGE,
+    INVALID_SEAT_COUNT,
+    INVALID_HOLD_DURATION,
+    DUPLICATE_PASSENGER,
+    PASSENGER_NOT_FOUND,
+    FLIGHT_NOT_FOUND,
+    NO_SEATS_AVAILABLE,
+    ALREADY_WAITLISTED,
+    BOOKING_NOT_FOUND,
+    HOLD_NOT_FOUND,
+    DATABASE_ERROR,
+    SERVICE_BUSY,
+    INTERNAL_ERROR
+}
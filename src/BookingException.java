@@ -0,0 +1,25 @@
+// Exception carrying a BookingErrorCode so callers can react to the failure type
+class BookingException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final BookingErrorCode code;
+    private final transient Passenger passenger; // registered before the failing step, if any
+
+    public BookingException(BookingErrorCode code, String message) {
+        this(code, message, null, null);
+    }
+
+    public BookingException(BookingErrorCode code, String message, Throwable cause) {
+        this(code, message, cause, null);
+    }
+
+    // A failure after the passenger was already registered, so the caller can retry without re-registering
+    public BookingException(BookingErrorCode code, String message, Throwable cause, Passenger passenger) {
+        super(message, cause);
+        this.code = code;
+        this.passenger = passenger;
+    }
+
+    public BookingErrorCode getCode() { return code; }
+    public Passenger getPassenger() { return passenger; }
+}
@@ -0,0 +1,252 @@
+// ClusterClient: routes requests to the node owning a flight and scatters lookups across all nodes
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class ClusterClient implements AutoCloseable {
+    // A node that does not answer within these limits is treated as unreachable
+    private static final int CONNECT_TIMEOUT_MILLIS = 2_000;
+    private static final int READ_TIMEOUT_MILLIS = 10_000;
+
+    private final ConsistentHashRing ring;
+    private final Map<String, NodeConnection> connections;
+    private final ExecutorService scatterPool;
+
+    public ClusterClient(List<String> nodes) {
+        this.ring = new ConsistentHashRing(nodes);
+        this.connections = new LinkedHashMap<>();
+        for (String node : nodes) {
+            connections.put(node, new NodeConnection(node));
+        }
+        this.scatterPool = Executors.newFixedThreadPool(nodes.size(), r -> {
+            Thread t = new Thread(r, "cluster-scatter");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // All flights with seats, merged from every node and ordered by departure
+    public List<Flight> getAvailableFlights() {
+        List<Flight> result = scatter(List.of("LIST"), ClusterProtocol::readFlight);
+        result.sort(Comparator.comparing(Flight::getDepartureTime));
+        return result;
+    }
+
+    // Search flights on every node and merge the results by departure time
+    public List<Flight> searchFlights(String origin, String destination, LocalDate date) {
+        List<Flight> result = scatter(List.of("SEARCH", origin, destination, date.toString()), ClusterProtocol::readFlight);
+        result.sort(Comparator.comparing(Flight::getDepartureTime));
+        return result;
+    }
+
+    // Passengers are spread across nodes, so ask all of them
+    public Passenger findPassenger(String passengerId) {
+        List<Passenger> found = scatter(List.of("FIND_PASSENGER", passengerId), ClusterProtocol::readPassenger);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    // Passengers live on the node owning their ID stripe, so an email or phone may be taken on any node
+    public Passenger findDuplicatePassenger(String email, String phoneNumber) {
+        List<Passenger> found = scatter(List.of("FIND_DUPLICATE", email, phoneNumber), ClusterProtocol::readPassenger);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    // Registration goes to the node owning the passenger's email, after checking every node for duplicates
+    public Passenger registerPassenger(String firstName, String lastName, String email, String phoneNumber, int age) {
+        Passenger existing = findDuplicatePassenger(email, phoneNumber);
+        if (existing != null) {
+            System.out.println("❌ A passenger with this email or phone number is already registered ("
+                    + existing.getPassengerId() + ").");
+            return null;
+        }
+        String node = ring.ownerOf(PassengerIndex.normalizeEmail(email));
+        List<Passenger> result = call(node, List.of("REGISTER", firstName, lastName, email, phoneNumber,
+                String.valueOf(age)), ClusterProtocol::readPassenger);
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    // Bookings are made on the node owning the flight's seat inventory
+    public Booking bookTicket(Passenger passenger, String flightNumber) {
+        List<String> request = new ArrayList<>(List.of("BOOK", flightNumber));
+        ClusterProtocol.addPassenger(request, passenger);
+        List<Booking> result = call(ring.ownerOf(flightNumber), request, ClusterProtocol::readBooking);
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    // Only the node holding the booking accepts the cancel, the rest answer with an error
+    public boolean cancelBooking(String bookingId) {
+        return anyNodeAccepts(List.of("CANCEL", bookingId));
+    }
+
+    // Holds are placed on the node owning the flight's seat inventory
+    public SeatHold holdSeats(Passenger passenger, String flightNumber, int seatCount, Duration ttl) {
+        List<String> request = new ArrayList<>(List.of("HOLD", flightNumber, String.valueOf(seatCount),
+                String.valueOf(ttl.toMillis())));
+        ClusterProtocol.addPassenger(request, passenger);
+        List<SeatHold> result = call(ring.ownerOf(flightNumber), request, ClusterProtocol::readHold);
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    // Only the node that placed the hold can confirm it; the others return no bookings
+    public List<Booking> confirmHold(String holdId) {
+        return scatter(List.of("CONFIRM_HOLD", holdId), ClusterProtocol::readBooking);
+    }
+
+    public boolean releaseHold(String holdId) {
+        return anyNodeAccepts(List.of("RELEASE_HOLD", holdId));
+    }
+
+    // A passenger's bookings live on whichever nodes own the booked flights
+    public List<Booking> getPassengerBookings(String passengerId) {
+        List<Booking> result = scatter(List.of("PASSENGER_BOOKINGS", passengerId), ClusterProtocol::readBooking);
+        result.sort(Comparator.comparing(Booking::getBookingId));
+        return result;
+    }
+
+    public boolean ping(String node) {
+        try {
+            return connections.get(node).send(List.of("PING")) != null;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        scatterPool.shutdownNow();
+        for (NodeConnection connection : connections.values()) {
+            connection.close();
+        }
+    }
+
+    private <T> List<T> call(String node, List<String> request, RecordReader<T> reader) {
+        NodeConnection connection = connections.get(node);
+        List<T> result = new ArrayList<>();
+        try {
+            List<String> lines = connection.send(request);
+            if (lines == null) {
+                return result;
+            }
+            for (String line : lines) {
+                result.add(reader.read(ClusterProtocol.split(line), 0));
+            }
+        } catch (IOException e) {
+            System.out.println("❌ Node " + node + " unreachable: " + e.getMessage());
+        }
+        return result;
+    }
+
+    // Send the request to every node in parallel; true if at least one answered OK
+    private boolean anyNodeAccepts(List<String> request) {
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (NodeConnection connection : connections.values()) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return connection.send(request) != null;
+                } catch (IOException e) {
+                    System.out.println("❌ Node " + connection.node + " unreachable: " + e.getMessage());
+                    return false;
+                }
+            }, scatterPool));
+        }
+        boolean accepted = false;
+        for (CompletableFuture<Boolean> future : futures) {
+            accepted |= future.join();
+        }
+        return accepted;
+    }
+
+    // Send the same request to every node in parallel and concatenate the answers
+    private <T> List<T> scatter(List<String> request, RecordReader<T> reader) {
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>();
+        for (String node : connections.keySet()) {
+            futures.add(CompletableFuture.supplyAsync(() -> call(node, request, reader), scatterPool));
+        }
+        List<T> merged = new ArrayList<>();
+        for (CompletableFuture<List<T>> future : futures) {
+            merged.addAll(future.join());
+        }
+        return merged;
+    }
+
+    private interface RecordReader<T> {
+        T read(List<String> fields, int offset);
+    }
+
+    // One persistent connection per node; requests on it are serialized
+    private static final class NodeConnection {
+        private final String node;
+        private Socket socket;
+        private BufferedReader in;
+        private PrintWriter out;
+
+        private NodeConnection(String node) {
+            this.node = node;
+        }
+
+        // Returns the record lines of an OK response, or null for an ERR response
+        private synchronized List<String> send(List<String> request) throws IOException {
+            try {
+                return exchange(request);
+            } catch (IOException e) {
+                // drop the broken or timed-out connection; the next request reconnects (bookings are not retried blindly)
+                close();
+                throw e;
+            }
+        }
+
+        private List<String> exchange(List<String> request) throws IOException {
+            if (socket == null) {
+                String[] hostPort = node.split(":");
+                socket = new Socket();
+                socket.connect(new InetSocketAddress(hostPort[0], Integer.parseInt(hostPort[1])), CONNECT_TIMEOUT_MILLIS);
+                socket.setSoTimeout(READ_TIMEOUT_MILLIS); // a hung node fails the call instead of blocking scatter
+                in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                out = new PrintWriter(socket.getOutputStream(), false, StandardCharsets.UTF_8);
+            }
+            out.print(ClusterProtocol.join(request));
+            out.print('\n');
+            out.flush();
+
+            String header = in.readLine();
+            if (header == null) {
+                throw new IOException("connection closed by node");
+            }
+            List<String> status = ClusterProtocol.split(header);
+            if (status.get(0).equals(ClusterProtocol.ERR)) {
+                return null;
+            }
+            int count = Integer.parseInt(status.get(1));
+            List<String> lines = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                lines.add(in.readLine());
+            }
+            return lines;
+        }
+
+        private synchronized void close() {
+            try {
+                if (socket != null) {
+                    socket.close();
+                }
+            } catch (IOException e) {
+                // ignore
+            }
+            socket = null;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+// ClusterProtocol class: line-based wire format shared by FlightNode and ClusterClient
+//
+// Request : COMMAND<TAB>arg1<TAB>arg2...
+// Response: OK<TAB>n followed by n record lines, or ERR<TAB>message
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class ClusterProtocol {
+    public static final String OK = "OK";
+    public static final String ERR = "ERR";
+
+    private static final int PASSENGER_FIELDS = 6;
+    private static final int FLIGHT_FIELDS = 9;
+
+    private ClusterProtocol() { }
+
+    // Join fields with tabs, escaping characters that would break the line format
+    public static String join(List<String> fields) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                sb.append('\t');
+            }
+            String field = fields.get(i) == null ? "" : fields.get(i);
+            for (int j = 0; j < field.length(); j++) {
+                char c = field.charAt(j);
+                switch (c) {
+                    case '\\': sb.append("\\\\"); break;
+                    case '\t': sb.append("\\t"); break;
+                    case '\n': sb.append("\\n"); break;
+                    case '\r': sb.append("\\r"); break;
+                    default: sb.append(c);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    public static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\t') {
+                fields.add(sb.toString());
+                sb.setLength(0);
+            } else if (c == '\\' && i + 1 < line.length()) {
+                char next = line.charAt(++i);
+                sb.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                sb.append(c);
+            }
+        }
+        fields.add(sb.toString());
+        return fields;
+    }
+
+    // Passenger: passengerId, firstName, lastName, email, phoneNumber, age
+    public static void addPassenger(List<String> fields, Passenger p) {
+        fields.add(p.getPassengerId());
+        fields.add(p.getFirstName());
+        fields.add(p.getLastName());
+        fields.add(p.getEmail());
+        fields.add(p.getPhoneNumber());
+        fields.add(String.valueOf(p.getAge()));
+    }
+
+    public static Passenger readPassenger(List<String> fields, int offset) {
+        return new Passenger(fields.get(offset), fields.get(offset + 1), fields.get(offset + 2),
+                fields.get(offset + 3), fields.get(offset + 4), Integer.parseInt(fields.get(offset + 5)));
+    }
+
+    // Flight: flightNumber, airline, origin, destination, departure, arrival, price, totalSeats,
+    // availableSeats (sellable: seats held by a pending checkout are not counted)
+    public static void addFlight(List<String> fields, Flight f) {
+        fields.add(f.getFlightNumber());
+        fields.add(f.getAirline());
+        fields.add(f.getOrigin());
+        fields.add(f.getDestination());
+        fields.add(f.getDepartureTime().toString());
+        fields.add(f.getArrivalTime().toString());
+        fields.add(String.valueOf(f.getPrice()));
+        fields.add(String.valueOf(f.getTotalSeats()));
+        fields.add(String.valueOf(f.getSellableSeats()));
+    }
+
+    public static Flight readFlight(List<String> fields, int offset) {
+        return new Flight(fields.get(offset), fields.get(offset + 1), fields.get(offset + 2), fields.get(offset + 3),
+                LocalDateTime.parse(fields.get(offset + 4)), LocalDateTime.parse(fields.get(offset + 5)),
+                Double.parseDouble(fields.get(offset + 6)), Integer.parseInt(fields.get(offset + 7)),
+                Integer.parseInt(fields.get(offset + 8)));
+    }
+
+    // Booking: bookingId, seatNumber, bookingTime, status, passenger fields, flight fields
+    public static void addBooking(List<String> fields, Booking b) {
+        fields.add(b.getBookingId());
+        fields.add(b.getSeatNumber());
+        fields.add(b.getBookingTime().toString());
+        fields.add(b.getStatus());
+        addPassenger(fields, b.getPassenger());
+        addFlight(fields, b.getFlight());
+    }
+
+    public static Booking readBooking(List<String> fields, int offset) {
+        Passenger passenger = readPassenger(fields, offset + 4);
+        Flight flight = readFlight(fields, offset + 4 + PASSENGER_FIELDS);
+        return new Booking(fields.get(offset), passenger, flight, fields.get(offset + 1),
+                LocalDateTime.parse(fields.get(offset + 2)), fields.get(offset + 3));
+    }
+
+    // Hold: holdId, status, seatCount, createdAt, expiresAt, passenger fields, flight fields
+    public static void addHold(List<String> fields, SeatHold h) {
+        fields.add(h.getHoldId());
+        fields.add(h.getStatus());
+        fields.add(String.valueOf(h.getSeatCount()));
+        fields.add(h.getCreatedAt().toString());
+        fields.add(h.getExpiresAt().toString());
+        addPassenger(fields, h.getPassenger());
+        addFlight(fields, h.getFlight());
+    }
+
+    public static SeatHold readHold(List<String> fields, int offset) {
+        Passenger passenger = readPassenger(fields, offset + 5);
+        Flight flight = readFlight(fields, offset + 5 + PASSENGER_FIELDS);
+        return new SeatHold(fields.get(offset), passenger, flight, Integer.parseInt(fields.get(offset + 2)),
+                LocalDateTime.parse(fields.get(offset + 3)), LocalDateTime.parse(fields.get(offset + 4)),
+                fields.get(offset + 1));
+    }
+
+    public static String flightLine(Flight f) {
+        List<String> fields = new ArrayList<>(FLIGHT_FIELDS);
+        addFlight(fields, f);
+        return join(fields);
+    }
+
+    public static String passengerLine(Passenger p) {
+        List<String> fields = new ArrayList<>(PASSENGER_FIELDS);
+        addPassenger(fields, p);
+        return join(fields);
+    }
+
+    public static String bookingLine(Booking b) {
+        List<String> fields = new ArrayList<>();
+        addBooking(fields, b);
+        return join(fields);
+    }
+
+    public static String holdLine(SeatHold h) {
+        List<String> fields = new ArrayList<>();
+        addHold(fields, h);
+        return join(fields);
+    }
+}
@@ -0,0 +1,56 @@
+// Consistent hash ring that maps keys (e.g. flight numbers) onto cluster nodes
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+class ConsistentHashRing {
+    private static final int VIRTUAL_NODES = 128;
+
+    private final List<String> nodes;
+    private final TreeMap<Long, String> ring;
+
+    public ConsistentHashRing(List<String> nodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one node");
+        }
+        this.nodes = new ArrayList<>(nodes);
+        this.ring = new TreeMap<>();
+        for (String node : nodes) {
+            // Virtual nodes smooth out the share of keys each node receives
+            for (int i = 0; i < VIRTUAL_NODES; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    // Getters
+    public List<String> getNodes() { return new ArrayList<>(nodes); }
+    public int size() { return nodes.size(); }
+
+    public int indexOf(String node) {
+        return nodes.indexOf(node);
+    }
+
+    // Node that owns the given key: first virtual node clockwise from the key's hash
+    public String ownerOf(String key) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long h = 0;
+            for (int i = 0; i < 8; i++) {
+                h = (h << 8) | (digest[i] & 0xFF);
+            }
+            return h;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
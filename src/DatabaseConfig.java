@@ -0,0 +1,75 @@
+// DatabaseConfig: connection settings read from outside the code
+//
+// Each setting is looked up in this order: JVM system property (-Ddb.url=...), environment
+// variable (DB_URL), db.properties on the classpath, then the built-in default.
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+class DatabaseConfig {
+    private static final String RESOURCE = "db.properties";
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int statementCacheSize;
+    private final boolean bootstrapSchema;
+
+    public DatabaseConfig(String url, String user, String password, int statementCacheSize, boolean bootstrapSchema) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.statementCacheSize = statementCacheSize;
+        this.bootstrapSchema = bootstrapSchema;
+    }
+
+    public static DatabaseConfig load() {
+        Properties file = new Properties();
+        try (InputStream in = DatabaseConfig.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                file.load(in);
+            }
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not read " + RESOURCE + ", using defaults: " + e.getMessage());
+        }
+
+        String cacheSize = setting(file, "db.statementCacheSize", "64");
+        int statementCacheSize;
+        try {
+            statementCacheSize = Math.max(1, Integer.parseInt(cacheSize.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("db.statementCacheSize must be a number: " + cacheSize);
+        }
+
+        return new DatabaseConfig(
+                setting(file, "db.url", "jdbc:mysql://localhost:3306/flight_booking_db"),
+                setting(file, "db.user", "root"),
+                setting(file, "db.password", ""), // default for XAMPP is blank
+                statementCacheSize,
+                Boolean.parseBoolean(setting(file, "db.bootstrap", "true").trim()));
+    }
+
+    // Getters
+    public String getUrl() { return url; }
+    public String getUser() { return user; }
+    public String getPassword() { return password; }
+    public int getStatementCacheSize() { return statementCacheSize; }
+    public boolean isBootstrapSchema() { return bootstrapSchema; }
+
+    // db.url -> -Ddb.url, then DB_URL, then the file, then the default
+    private static String setting(Properties file, String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = System.getenv(key.replace('.', '_').toUpperCase());
+        }
+        if (value == null) {
+            value = file.getProperty(key);
+        }
+        return value != null ? value : defaultValue;
+    }
+
+    @Override
+    public String toString() {
+        return url + " as " + user; // never print the password
+    }
+}
@@ -1,13 +1,132 @@
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class DatabaseHelper {
-    private static final String URL = "jdbc:mysql://localhost:3306/flight_booking_db";
-    private static final String USER = "root";
-    private static final String PASSWORD = ""; // default for XAMPP is blank
+    private static final DatabaseConfig CONFIG = DatabaseConfig.load();
+    private static final long VALIDATE_AFTER_IDLE_MILLIS = 30_000;
+    private static final int VALIDATE_TIMEOUT_SECONDS = 2;
 
+    // One connection per thread, each with its own prepared statements: no locking on the booking path
+    private static final ThreadLocal<CachedConnection> CURRENT = new ThreadLocal<>();
+
+    public static DatabaseConfig getConfig() {
+        return CONFIG;
+    }
+
+    // A new connection the caller must close
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL, USER, PASSWORD);
+        return DriverManager.getConnection(CONFIG.getUrl(), CONFIG.getUser(), CONFIG.getPassword());
+    }
+
+    // A prepared statement on this thread's connection, parsed once and reused.
+    // Callers bind every parameter and must NOT close the statement.
+    public static PreparedStatement prepare(String sql) throws SQLException {
+        CachedConnection cached = CURRENT.get();
+        if (cached == null || !cached.isUsable()) {
+            closeThreadConnection();
+            cached = new CachedConnection(getConnection(), CONFIG.getStatementCacheSize());
+            CURRENT.set(cached);
+        }
+        return cached.prepare(sql);
+    }
+
+    public static int executeUpdate(PreparedStatement statement) throws SQLException {
+        try {
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            closeThreadConnection(); // the connection may be broken: reconnect on the next call
+            throw e;
+        }
+    }
+
+    // The caller closes the result set; the statement stays cached
+    public static ResultSet executeQuery(PreparedStatement statement) throws SQLException {
+        try {
+            return statement.executeQuery();
+        } catch (SQLException e) {
+            closeThreadConnection();
+            throw e;
+        }
+    }
+
+    // Close this thread's connection and its statements (e.g. before a worker thread exits)
+    public static void closeThreadConnection() {
+        CachedConnection cached = CURRENT.get();
+        if (cached != null) {
+            CURRENT.remove();
+            cached.close();
+        }
+    }
+
+    private static class CachedConnection {
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements;
+        private long lastUsed;
+
+        CachedConnection(Connection connection, int cacheSize) {
+            this.connection = connection;
+            // Access-ordered: once full, the least recently used statement is closed
+            this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() <= cacheSize) {
+                        return false;
+                    }
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+            };
+            this.lastUsed = System.currentTimeMillis();
+        }
+
+        // Only ask the server after the connection has sat idle; it may have timed out meanwhile
+        boolean isUsable() {
+            try {
+                if (connection.isClosed()) {
+                    return false;
+                }
+                long now = System.currentTimeMillis();
+                boolean usable = now - lastUsed < VALIDATE_AFTER_IDLE_MILLIS
+                        || connection.isValid(VALIDATE_TIMEOUT_SECONDS);
+                lastUsed = now;
+                return usable;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+            if (statement == null || statement.isClosed()) {
+                statement = connection.prepareStatement(sql);
+                statements.put(sql, statement);
+            }
+            return statement;
+        }
+
+        void close() {
+            for (PreparedStatement statement : statements.values()) {
+                closeQuietly(statement);
+            }
+            statements.clear();
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // already unusable
+            }
+        }
+
+        private static void closeQuietly(PreparedStatement statement) {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+                // nothing left to release
+            }
+        }
     }
 }
@@ -0,0 +1,71 @@
+// Bounded lock-free ring buffer: many producers, one consumer
+//
+// Each slot carries a sequence number that tells producers and the consumer whose turn it is,
+// so neither side ever takes a lock. offer() never blocks; it returns false when the buffer is full.
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+class EventRingBuffer<E> {
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail;
+    private long head; // only touched by the consumer
+
+    public EventRingBuffer(int requestedCapacity) {
+        int size = 1;
+        while (size < requestedCapacity) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.tail = new AtomicLong();
+    }
+
+    public int capacity() { return capacity; }
+
+    // Called by any producer thread
+    public boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long sequence = sequences.get(index);
+            long diff = sequence - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, element);
+                    sequences.set(index, position + 1); // publish to the consumer
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false; // consumer has not freed this slot yet: full
+            }
+            // another producer claimed this position first; retry
+        }
+    }
+
+    // Called by the single consumer thread; moves up to maxElements into the batch
+    public int drainTo(List<E> batch, int maxElements) {
+        int drained = 0;
+        while (drained < maxElements) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break; // nothing published at this position yet
+            }
+            batch.add(slots.get(index));
+            slots.lazySet(index, null);
+            sequences.set(index, head + capacity); // hand the slot back to producers
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+}
@@ -1,9 +1,11 @@
 // Flight class to represent flight information
-import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.BitSet;
 class Flight {
+    static final String UNASSIGNED_SEAT = "TBA"; // overbooked: seat assigned when one frees up or at the gate
+    private static final int SEATS_PER_ROW = 6;
+
     private final String flightNumber;
     private final String airline;
     private final String origin;
@@ -13,6 +15,23 @@ class Flight {
     private final double price;
     private final int totalSeats;
     private int availableSeats;
+    private int heldSeats;
+    private int overbookAllowance;
+    private int overbookedSeats;
+    private final BitSet occupiedSeats = new BitSet(); // by seat index: A1 = 0, A2 = 1, ..., B1 = 6
+    private final Waitlist waitlist = new Waitlist();
+    private PromotionHandler promotionHandler;
+    private ReseatHandler reseatHandler;
+
+    // Books a waitlisted passenger into a seat that was just freed; returns false if that failed
+    interface PromotionHandler {
+        boolean promote(Flight flight, WaitlistEntry entry, String seatNumber);
+    }
+
+    // Gives a freed seat to an overbooked (TBA) booking and records it; returns false if there is none
+    interface ReseatHandler {
+        boolean reseat(Flight flight, String seatNumber);
+    }
 
     public Flight(String flightNumber, String airline, String origin, String destination,
                   LocalDateTime departureTime, LocalDateTime arrivalTime, double price, int totalSeats) {
@@ -27,6 +46,14 @@ class Flight {
         this.availableSeats = totalSeats;
     }
 
+    // Snapshot of a flight with a known number of free seats (e.g. received from another node)
+    public Flight(String flightNumber, String airline, String origin, String destination,
+                  LocalDateTime departureTime, LocalDateTime arrivalTime, double price, int totalSeats,
+                  int availableSeats) {
+        this(flightNumber, airline, origin, destination, departureTime, arrivalTime, price, totalSeats);
+        this.availableSeats = availableSeats;
+    }
+
     // Getters
     public String getFlightNumber() { return flightNumber; }
     public String getAirline() { return airline; }
@@ -36,65 +63,217 @@ class Flight {
     public LocalDateTime getArrivalTime() { return arrivalTime; }
     public double getPrice() { return price; }
     public int getTotalSeats() { return totalSeats; }
-    public int getAvailableSeats() { return availableSeats; }
 
-    public boolean bookSeat() {
-        if (availableSeats > 0) {
+    public synchronized int getAvailableSeats() { return availableSeats; }
+    public synchronized int getHeldSeats() { return heldSeats; }
+    public synchronized int getOverbookedSeats() { return overbookedSeats; }
+    public synchronized int getOverbookAllowance() { return overbookAllowance; }
+    public synchronized int getWaitlistSize() { return waitlist.size(); }
+
+    // Seats that can still be booked or held (not booked and not held by a pending checkout)
+    public synchronized int getSellableSeats() { return availableSeats - heldSeats; }
+
+    public synchronized void setOverbookAllowance(int allowance) { this.overbookAllowance = Math.max(0, allowance); }
+    public synchronized void setPromotionHandler(PromotionHandler handler) { this.promotionHandler = handler; }
+    public synchronized void setReseatHandler(ReseatHandler handler) { this.reseatHandler = handler; }
+
+    // Account for a confirmed booking loaded from the database; seat counts themselves are stored
+    public synchronized void restoreBookedSeat(String seatNumber) {
+        if (UNASSIGNED_SEAT.equals(seatNumber)) {
+            overbookedSeats++;
+            return;
+        }
+        int index = seatIndex(seatNumber);
+        if (index >= 0) {
+            occupiedSeats.set(index);
+        }
+    }
+
+    // Book a seat and return its number; once the flight is full, up to overbookAllowance extra
+    // seats are sold as "TBA". Returns null if nothing can be sold.
+    public synchronized String bookSeat() {
+        if (availableSeats - heldSeats > 0) {
             availableSeats--;
-            try{
-                Connection conn = DatabaseHelper.getConnection();
-                var pstmt = conn.prepareStatement("UPDATE flights SET availableSeats = ? WHERE flightNumber = ?");{
-                        pstmt.setString(1, String.valueOf(availableSeats));
-                        pstmt.setString(2,this.flightNumber);
-                        pstmt.executeUpdate();
-                }
-            } catch (SQLException e) {
-                throw new RuntimeException(e);
+            persistAvailableSeats();
+            AvailabilityFeed.publish(AvailabilityEvent.Type.SEATS_BOOKED, this, availableSeats - heldSeats);
+            return takeSeat(null);
+        }
+        if (overbookedSeats < overbookAllowance) {
+            overbookedSeats++;
+            AvailabilityFeed.publish(AvailabilityEvent.Type.SEATS_BOOKED, this, 0);
+            return UNASSIGNED_SEAT;
+        }
+        return null;
+    }
+
+    // Release a cancelled booking's seat. An overbooked passenger gets it first; otherwise the next
+    // waitlisted passenger gets exactly this seat before this lock is released.
+    public synchronized void cancelSeat(String seatNumber) {
+        if (UNASSIGNED_SEAT.equals(seatNumber)) {
+            if (overbookedSeats > 0) {
+                overbookedSeats--; // an overbooked passenger cancelled: no real seat changes hands
             }
-            return true;
+            return;
+        }
+        if (overbookedSeats > 0 && reseatHandler != null && seatIndex(seatNumber) >= 0
+                && reseatHandler.reseat(this, seatNumber)) {
+            overbookedSeats--; // the seat went to an overbooked passenger: it stays occupied, seat count unchanged
+            return;
+        }
+        freeSeat(seatNumber);
+        if (availableSeats < totalSeats) {
+            int before = availableSeats;
+            availableSeats++;
+            promoteWaitlisted(seatNumber);
+            seatsChanged(before, AvailabilityEvent.Type.SEATS_RELEASED);
         }
-        return false;
     }
 
-    public void cancelSeat() {
+    // Give back a seat whose booking could not be recorded, without promoting anyone
+    public synchronized void returnSeat(String seatNumber) {
+        if (UNASSIGNED_SEAT.equals(seatNumber)) {
+            if (overbookedSeats > 0) {
+                overbookedSeats--;
+            }
+            return;
+        }
+        freeSeat(seatNumber);
         if (availableSeats < totalSeats) {
             availableSeats++;
-            try{
-                Connection conn = DatabaseHelper.getConnection();
-                var pstmt = conn.prepareStatement("UPDATE flights SET availableSeats = ? WHERE flightNumber = ?");{
-                    pstmt.setString(1, String.valueOf(availableSeats));
-                    pstmt.setString(2,this.flightNumber);
-                    pstmt.executeUpdate();
-                }
-            } catch (SQLException e) {
-                throw new RuntimeException(e);
+            persistAvailableSeats();
+            AvailabilityFeed.publish(AvailabilityEvent.Type.SEATS_RELEASED, this, availableSeats - heldSeats);
+        }
+    }
+
+    // Reserve seats for a pending checkout; held seats are only tracked in memory
+    public synchronized boolean holdSeats(int count) {
+        if (count > 0 && availableSeats - heldSeats >= count) {
+            heldSeats += count;
+            AvailabilityFeed.publish(AvailabilityEvent.Type.SEATS_HELD, this, availableSeats - heldSeats);
+            return true;
+        }
+        return false;
+    }
+
+    // Give held seats back to the sellable pool (hold expired or released)
+    public synchronized void releaseHeldSeats(int count) {
+        int before = availableSeats;
+        heldSeats -= Math.min(count, heldSeats);
+        promoteWaitlisted(null);
+        seatsChanged(before, AvailabilityEvent.Type.HOLD_RELEASED);
+    }
+
+    // Turn one held seat into a booked seat and return its number, or null if nothing is held
+    public synchronized String confirmHeldSeat() {
+        if (heldSeats > 0 && availableSeats > 0) {
+            heldSeats--;
+            availableSeats--;
+            persistAvailableSeats();
+            AvailabilityFeed.publish(AvailabilityEvent.Type.SEATS_BOOKED, this, availableSeats - heldSeats);
+            return takeSeat(null);
+        }
+        return null;
+    }
+
+    // Queue a passenger for the next free seat; if one is free right now they are booked at once
+    public synchronized boolean joinWaitlist(WaitlistEntry entry) {
+        if (!waitlist.add(entry)) {
+            return false;
+        }
+        int before = availableSeats;
+        promoteWaitlisted(null);
+        if (availableSeats != before) { // only a promotion changes seats; joining alone is not a booking
+            seatsChanged(before, AvailabilityEvent.Type.SEATS_BOOKED);
+        }
+        return true;
+    }
+
+    public synchronized WaitlistEntry leaveWaitlist(String passengerId) {
+        WaitlistEntry entry = waitlist.remove(passengerId);
+        if (entry != null) {
+            entry.markRemoved();
+        }
+        return entry;
+    }
+
+    public synchronized WaitlistEntry findWaitlistEntry(String passengerId) {
+        return waitlist.find(passengerId);
+    }
+
+    // Caller holds this flight's lock: hand free seats to waitlisted passengers in priority order,
+    // starting with the seat that was just released (if any)
+    private void promoteWaitlisted(String releasedSeat) {
+        while (promotionHandler != null && !waitlist.isEmpty() && availableSeats - heldSeats > 0) {
+            WaitlistEntry entry = waitlist.poll();
+            availableSeats--;
+            String seatNumber = takeSeat(releasedSeat);
+            releasedSeat = null;
+            if (!promotionHandler.promote(this, entry, seatNumber)) {
+                // could not record the booking (e.g. DB down): keep the seat free and the passenger queued
+                availableSeats++;
+                freeSeat(seatNumber);
+                waitlist.add(entry);
+                return;
             }
         }
     }
 
+    // Occupy the preferred seat if it is free, else the lowest free seat
+    private String takeSeat(String preferredSeat) {
+        int index = seatIndex(preferredSeat);
+        if (index < 0 || occupiedSeats.get(index)) {
+            index = occupiedSeats.nextClearBit(0);
+        }
+        occupiedSeats.set(index);
+        return seatNumber(index);
+    }
+
+    private void freeSeat(String seatNumber) {
+        int index = seatIndex(seatNumber);
+        if (index >= 0) {
+            occupiedSeats.clear(index);
+        }
+    }
+
+    // Seat number for a 0-based index: 0 -> A1, 5 -> A6, 6 -> B1
+    static String seatNumber(int index) {
+        return (char) ('A' + index / SEATS_PER_ROW) + String.valueOf(index % SEATS_PER_ROW + 1);
+    }
+
+    // 0-based index of a seat number, or -1 for "TBA", null or anything unparsable
+    static int seatIndex(String seatNumber) {
+        if (seatNumber == null || seatNumber.length() < 2 || seatNumber.charAt(0) < 'A') {
+            return -1;
+        }
+        try {
+            int column = Integer.parseInt(seatNumber.substring(1));
+            if (column < 1 || column > SEATS_PER_ROW) {
+                return -1;
+            }
+            return (seatNumber.charAt(0) - 'A') * SEATS_PER_ROW + column - 1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void seatsChanged(int before, AvailabilityEvent.Type type) {
+        if (availableSeats != before) {
+            persistAvailableSeats();
+        }
+        AvailabilityFeed.publish(type, this, availableSeats - heldSeats);
+    }
+
+    private void persistAvailableSeats() {
+        try {
+            FlightDao.updateAvailableSeats(flightNumber, availableSeats);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
     public String toString() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-        return String.format(
-                """
-                ╔════════════════════════════════════════════════════════════════════╗
-                ║                        ✈️  FLIGHT INFORMATION                      ║
-                ╠════════════════════════════════════════════════════════════════════╣
-                ║ Flight      : %-10s (%s)                                           ║
-                ║ Route       : %s → %s                                              ║
-                ║ Departure   : %s                                                   ║
-                ║ Arrival     : %s                                                   ║
-                ║ Price       : $%.2f                                                ║
-                ║ Seats       : %d available out of %d                               ║
-                ╚════════════════════════════════════════════════════════════════════╝
-                """,
-                flightNumber, airline,
-                origin, destination,
-                departureTime.format(formatter),
-                arrivalTime.format(formatter),
-                price,
-                availableSeats, totalSeats
-        );
+        return ListingRenderer.flightText(this);
     }
 
 }
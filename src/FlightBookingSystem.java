@@ -1,49 +1,87 @@
 import java.io.PrintWriter;
-import java.sql.Connection;
-import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.InputMismatchException;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.atomic.AtomicLong;
 
-public class FlightBookingSystem {
+public class FlightBookingSystem implements AutoCloseable {
+    private static final int PASSENGER_SEARCH_LIMIT = 20; // console name search shows at most this many
     private final List<Flight> flights;
     private final List<Booking> bookings;
     private final List<Passenger> passengers;
+    private final PassengerIndex passengerIndex;
+    private final SeatHoldManager holdManager;
+    private final Partition partition;
+    private final Object idLock = new Object();
+    private final AtomicLong waitlistCounter = new AtomicLong();
+    private OverbookingPolicy overbookingPolicy;
     private int bookingCounter;
     private int passengerCounter;
 
     public FlightBookingSystem() {
+        this(Partition.single());
+    }
+
+    // Partitioned mode: only load and serve the flights and IDs this node owns
+    public FlightBookingSystem(Partition partition) {
+        this.partition = partition;
         this.flights = new ArrayList<>();
-        this.bookings = new ArrayList<>();
-        this.passengers = new ArrayList<>();
-        this.bookingCounter = 1;
-        this.passengerCounter = 1;
+        // Synchronized so the async service can call in from several threads
+        this.bookings = Collections.synchronizedList(new ArrayList<>());
+        this.passengers = Collections.synchronizedList(new ArrayList<>());
+        this.passengerIndex = new PassengerIndex();
+        this.holdManager = new SeatHoldManager(partition.alignId(1), partition.getNodeCount());
+        this.bookingCounter = partition.alignId(1);
+        this.passengerCounter = partition.alignId(1);
+        this.overbookingPolicy = OverbookingPolicy.none();
+        if (DatabaseHelper.getConfig().isBootstrapSchema()) {
+            try {
+                SchemaBootstrapper.bootstrap();
+            } catch (Exception e) {
+                System.out.println("❌ Error preparing database schema: " + e.getMessage());
+            }
+        }
         initializeFlights();
         loadPassengers();
         loadBookings();
+        for (Flight flight : flights) {
+            flight.setPromotionHandler(this::promoteFromWaitlist);
+            flight.setReseatHandler(this::reseatOverbooked);
+        }
+    }
+
+    // Stop the seat-hold expiry thread once the system is no longer used
+    @Override
+    public void close() {
+        holdManager.shutdown();
+    }
+
+    // Apply a new overbooking policy to every flight
+    public void setOverbookingPolicy(OverbookingPolicy policy) {
+        this.overbookingPolicy = policy;
+        for (Flight flight : flights) {
+            flight.setOverbookAllowance(policy.allowanceFor(flight));
+        }
+    }
+
+    public OverbookingPolicy getOverbookingPolicy() {
+        return overbookingPolicy;
     }
 
     // Initialize some sample flights
     private void initializeFlights() {
-        try (Connection conn = DatabaseHelper.getConnection();
-             var stmt = ((Connection) conn).createStatement();
-             var rs = stmt.executeQuery("SELECT * FROM flights")) {
-
-            while (rs.next()) {
-                flights.add(new Flight(
-                        rs.getString("flightNumber"),
-                        rs.getString("airline"),
-                        rs.getString("origin"),
-                        rs.getString("destination"),
-                        rs.getTimestamp("departureTime").toLocalDateTime(),
-                        rs.getTimestamp("arrivalTime").toLocalDateTime(),
-                        rs.getDouble("price"),
-                        rs.getInt("totalSeats")
-                ));
+        try {
+            for (Flight flight : FlightDao.findAll()) {
+                if (partition.ownsFlight(flight.getFlightNumber())) {
+                    flights.add(flight);
+                }
             }
             // System.out.println("✅ Flights loaded from database successfully.");
         } catch (Exception e) {
@@ -51,6 +89,17 @@ public class FlightBookingSystem {
         }
     }
 
+    // All flights that still have seats to sell (seats held by a pending checkout do not count)
+    public List<Flight> getAvailableFlights() {
+        List<Flight> result = new ArrayList<>();
+        for (Flight flight : flights) {
+            if (flight.getSellableSeats() > 0) {
+                result.add(flight);
+            }
+        }
+        return result;
+    }
+
     // Search flights by origin and destination and date
     public List<Flight> searchFlights(String origin, String destination, LocalDate date) {
         List<Flight> result = new ArrayList<>();
@@ -59,7 +108,7 @@ public class FlightBookingSystem {
                     flight.getOrigin().equalsIgnoreCase(origin) &&
                             flight.getDestination().equalsIgnoreCase(destination) &&
                             flight.getDepartureTime().toLocalDate().equals(date) &&
-                            flight.getAvailableSeats() > 0
+                            flight.getSellableSeats() > 0
             ) {
                 result.add(flight);
             }
@@ -70,169 +119,348 @@ public class FlightBookingSystem {
 
     // Register a new passenger
     public Passenger registerPassenger(String firstName, String lastName, String email, String phoneNumber, int age) {
-        if (!phoneNumber.matches("\\d{10}")) {
-            System.out.println("❌ Invalid phone number! Must be 10 digits.");
+        try {
+            Passenger passenger = registerPassengerOrThrow(firstName, lastName, email, phoneNumber, age);
+            System.out.println("✅ Passenger stored in database.");
+            return passenger;
+        } catch (BookingException e) {
+            System.out.println("❌ " + e.getMessage());
             return null;
         }
-        if (!email.contains("@")) {
-            System.out.println("❌ Invalid email address! Must contain '@'.");
-            return null;
+    }
+
+    // Register a new passenger, reporting failures as a BookingException
+    public Passenger registerPassengerOrThrow(String firstName, String lastName, String email, String phoneNumber, int age) {
+        if (phoneNumber == null || !phoneNumber.matches("\\d{10}")) {
+            throw new BookingException(BookingErrorCode.INVALID_PHONE, "Invalid phone number! Must be 10 digits.");
+        }
+        if (email == null || !email.contains("@")) {
+            throw new BookingException(BookingErrorCode.INVALID_EMAIL, "Invalid email address! Must contain '@'.");
         }
         if (age <= 0) {
-            System.out.println("❌ Invalid age! Must be greater than 0.");
-            return null;
+            throw new BookingException(BookingErrorCode.INVALID_AGE, "Invalid age! Must be greater than 0.");
+        }
+        Passenger existing = passengerIndex.findDuplicate(email, phoneNumber);
+        if (existing != null) {
+            throw duplicatePassenger(existing);
         }
 
-        String passengerId = "P" + String.format("%04d", passengerCounter++);
+        String passengerId = nextPassengerId();
         Passenger passenger = new Passenger(passengerId, firstName, lastName, email, phoneNumber, age);
 
-        try (Connection conn = DatabaseHelper.getConnection();
-             var pstmt = conn.prepareStatement(
-                     "INSERT INTO passengers (passengerId, firstName, lastName, email, phoneNumber, age) VALUES (?, ?, ?, ?, ?, ?)")) {
-            pstmt.setString(1, passengerId);
-            pstmt.setString(2, firstName);
-            pstmt.setString(3, lastName);
-            pstmt.setString(4, email);
-            pstmt.setString(5, phoneNumber);
-            pstmt.setInt(6, age);
-
-            pstmt.executeUpdate();
-            System.out.println("✅ Passenger stored in database.");
+        // Claim the email and phone before writing, so two concurrent registrations cannot both pass
+        existing = passengerIndex.addIfUnique(passenger);
+        if (existing != null) {
+            throw duplicatePassenger(existing);
+        }
+
+        try {
+            PassengerDao.insert(passenger);
         } catch (Exception e) {
-            System.out.println("❌ Error storing passenger: " + e.getMessage());
+            passengerIndex.remove(passenger);
+            throw new BookingException(BookingErrorCode.DATABASE_ERROR, "Error storing passenger: " + e.getMessage(), e);
         }
 
         passengers.add(passenger); // still keep in memory to display in the menu
         return passenger;
     }
 
+    private static BookingException duplicatePassenger(Passenger existing) {
+        return new BookingException(BookingErrorCode.DUPLICATE_PASSENGER,
+                "A passenger with this email or phone number is already registered (" + existing.getPassengerId() + ").");
+    }
+
 
     // Book a flight ticket
     public Booking bookTicket(Passenger passenger, String flightNumber) {
-        Flight selectedFlight = null;
-
-        // Find the flight
-        for (Flight flight : flights) {
-            if (flight.getFlightNumber().equals(flightNumber)) {
-                selectedFlight = flight;
-                break;
-            }
+        try {
+            Booking booking = bookTicketOrThrow(passenger, flightNumber);
+            System.out.println("✅ Booking saved to database.");
+            return booking;
+        } catch (BookingException e) {
+            System.out.println(e.getCode() == BookingErrorCode.DATABASE_ERROR ? "❌ " + e.getMessage() : e.getMessage());
+            return null;
         }
+    }
+
+    // Book a flight ticket, reporting failures as a BookingException
+    public Booking bookTicketOrThrow(Passenger passenger, String flightNumber) {
+        Flight selectedFlight = findFlight(flightNumber);
 
         if (selectedFlight == null) {
-            System.out.println("Flight not found!");
+            throw new BookingException(BookingErrorCode.FLIGHT_NOT_FOUND, "Flight not found!");
+        }
+
+        // Overbooked passengers get "TBA" until a seat frees up or they reach the gate
+        String seatNumber;
+        try {
+            seatNumber = selectedFlight.bookSeat();
+        } catch (RuntimeException e) {
+            throw new BookingException(BookingErrorCode.DATABASE_ERROR, "Error updating available seats: " + e.getMessage(), e);
+        }
+        if (seatNumber == null) {
+            throw new BookingException(BookingErrorCode.NO_SEATS_AVAILABLE, "No seats available on this flight!");
+        }
+
+        try {
+            return createBooking(passenger, selectedFlight, seatNumber);
+        } catch (BookingException e) {
+            selectedFlight.returnSeat(seatNumber); // the booking was never recorded
+            throw e;
+        }
+    }
+
+    // Join the waitlist of a full flight
+    public WaitlistEntry joinWaitlist(Passenger passenger, String flightNumber, int priority) {
+        try {
+            WaitlistEntry entry = joinWaitlistOrThrow(passenger, flightNumber, priority);
+            if (entry.getBookingId() != null) {
+                System.out.println("✅ A seat was free: booked right away as " + entry.getBookingId() + ".");
+            } else {
+                System.out.println("✅ Added to waitlist for flight " + flightNumber + ".");
+            }
+            return entry;
+        } catch (BookingException e) {
+            System.out.println("❌ " + e.getMessage());
             return null;
         }
+    }
+
+    // Join the waitlist of a flight, reporting failures as a BookingException
+    public WaitlistEntry joinWaitlistOrThrow(Passenger passenger, String flightNumber, int priority) {
+        Flight flight = findFlight(flightNumber);
+        if (flight == null) {
+            throw new BookingException(BookingErrorCode.FLIGHT_NOT_FOUND, "Flight not found!");
+        }
+        WaitlistEntry entry = new WaitlistEntry(passenger, flightNumber, priority, waitlistCounter.incrementAndGet());
+        if (!flight.joinWaitlist(entry)) {
+            throw new BookingException(BookingErrorCode.ALREADY_WAITLISTED,
+                    "Passenger " + passenger.getPassengerId() + " is already on the waitlist for this flight.");
+        }
+        return entry;
+    }
+
+    // Leave a flight's waitlist
+    public boolean leaveWaitlist(String passengerId, String flightNumber) {
+        Flight flight = findFlight(flightNumber);
+        return flight != null && flight.leaveWaitlist(passengerId) != null;
+    }
+
+    // Called by Flight, under its lock, when a freed seat has been given to a waitlisted passenger
+    private boolean promoteFromWaitlist(Flight flight, WaitlistEntry entry, String seatNumber) {
+        try {
+            Booking booking = createBooking(entry.getPassenger(), flight, seatNumber);
+            entry.markPromoted(booking.getBookingId());
+            System.out.println("✅ Waitlisted passenger " + entry.getPassenger().getPassengerId()
+                    + " promoted to booking " + booking.getBookingId() + " on flight " + flight.getFlightNumber() + ".");
+            return true;
+        } catch (BookingException e) {
+            System.out.println("❌ Waitlist promotion failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Called by Flight, under its lock, when a real seat frees up while passengers are overbooked:
+    // the earliest confirmed "TBA" booking on the flight gets the seat, in memory and in the DB
+    private boolean reseatOverbooked(Flight flight, String seatNumber) {
+        List<Booking> candidates = new ArrayList<>();
+        synchronized (bookings) {
+            for (Booking booking : bookings) {
+                if (booking.getFlight() == flight && booking.getStatus().equals("CONFIRMED")
+                        && booking.getSeatNumber().equals(Flight.UNASSIGNED_SEAT)) {
+                    candidates.add(booking);
+                }
+            }
+        }
+        candidates.sort(Comparator.comparing(Booking::getBookingTime).thenComparing(Booking::getBookingId));
+        for (Booking booking : candidates) {
+            try {
+                if (BookingDao.updateSeatNumber(booking.getBookingId(), Flight.UNASSIGNED_SEAT, seatNumber) == 0) {
+                    continue; // cancelled in the DB meanwhile
+                }
+            } catch (Exception e) {
+                System.out.println("❌ Could not assign seat " + seatNumber + " to overbooked booking "
+                        + booking.getBookingId() + ": " + e.getMessage());
+                return false;
+            }
+            booking.assignSeat(seatNumber);
+            System.out.println("✅ Overbooked booking " + booking.getBookingId() + " assigned seat " + seatNumber
+                    + " on flight " + flight.getFlightNumber() + ".");
+            return true;
+        }
+        return false;
+    }
 
-        if (!selectedFlight.bookSeat()) {
-            System.out.println("No seats available on this flight!");
+    // Hold seats for a passenger while they complete payment
+    public SeatHold holdSeats(Passenger passenger, String flightNumber, int seatCount, Duration ttl) {
+        try {
+            return holdSeatsOrThrow(passenger, flightNumber, seatCount, ttl);
+        } catch (BookingException e) {
+            System.out.println(e.getMessage());
             return null;
         }
+    }
 
-        // Generate booking ID and seat number
-        String bookingId = "BK" + String.format("%06d", bookingCounter++);
-        String seatNumber = generateSeatNumber(selectedFlight);
-        LocalDateTime bookingTime = LocalDateTime.now();
+    // Hold seats, reporting failures as a BookingException
+    public SeatHold holdSeatsOrThrow(Passenger passenger, String flightNumber, int seatCount, Duration ttl) {
+        if (passenger == null) {
+            throw new BookingException(BookingErrorCode.PASSENGER_NOT_FOUND, "Passenger not found!");
+        }
+        if (seatCount <= 0) {
+            throw new BookingException(BookingErrorCode.INVALID_SEAT_COUNT, "Invalid seat count! Must be greater than 0.");
+        }
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            throw new BookingException(BookingErrorCode.INVALID_HOLD_DURATION, "Invalid hold duration! Must be greater than 0.");
+        }
+        Flight selectedFlight = findFlight(flightNumber);
+        if (selectedFlight == null) {
+            throw new BookingException(BookingErrorCode.FLIGHT_NOT_FOUND, "Flight not found!");
+        }
 
-        Booking booking = new Booking(bookingId, passenger, selectedFlight, seatNumber);
-        bookings.add(booking);
+        SeatHold hold = holdManager.hold(passenger, selectedFlight, seatCount, ttl);
+        if (hold == null) {
+            throw new BookingException(BookingErrorCode.NO_SEATS_AVAILABLE, "Not enough seats available to hold on this flight!");
+        }
+        return hold;
+    }
+
+    // Convert a seat hold into confirmed bookings
+    public List<Booking> confirmHold(String holdId) {
+        try {
+            return confirmHoldOrThrow(holdId);
+        } catch (BookingException e) {
+            System.out.println(e.getCode() == BookingErrorCode.HOLD_NOT_FOUND ? "⚠️ " + e.getMessage() : "❌ " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    // Convert a seat hold into confirmed bookings, reporting failures as a BookingException.
+    // If a booking cannot be stored, the seats not yet booked go back on sale and the bookings made so far stand.
+    public List<Booking> confirmHoldOrThrow(String holdId) {
+        SeatHold hold = holdManager.confirm(holdId);
+        if (hold == null) {
+            throw new BookingException(BookingErrorCode.HOLD_NOT_FOUND, "Hold not found, already used or expired.");
+        }
+
+        List<Booking> confirmed = new ArrayList<>();
+        Flight flight = hold.getFlight();
+        for (int i = 0; i < hold.getSeatCount(); i++) {
+            String seatNumber = flight.confirmHeldSeat();
+            if (seatNumber == null) {
+                flight.releaseHeldSeats(hold.getSeatCount() - i);
+                break;
+            }
+            try {
+                confirmed.add(createBooking(hold.getPassenger(), flight, seatNumber));
+            } catch (BookingException e) {
+                flight.returnSeat(seatNumber);
+                flight.releaseHeldSeats(hold.getSeatCount() - i - 1);
+                throw new BookingException(e.getCode(), "Booked " + confirmed.size() + " of " + hold.getSeatCount()
+                        + " held seats: " + e.getMessage(), e);
+            }
+        }
+        return confirmed;
+    }
+
+    // Release a seat hold before it expires
+    public boolean releaseHold(String holdId) {
+        return holdManager.release(holdId);
+    }
+
+    // Record a booking for a seat that has already been taken from the flight; the caller returns the seat on failure
+    private Booking createBooking(Passenger passenger, Flight flight, String seatNumber) {
+        String bookingId = nextBookingId();
+        Booking booking = new Booking(bookingId, passenger, flight, seatNumber, LocalDateTime.now(), "CONFIRMED");
 
         // Insert booking into DB
-        try (Connection conn = DatabaseHelper.getConnection();
-             var pstmt = conn.prepareStatement(
-                     "INSERT INTO bookings (bookingId, passengerId, flightNumber, seatNumber, bookingTime, status) VALUES (?, ?, ?, ?, ?, ?)")) {
-
-            pstmt.setString(1, bookingId);
-            pstmt.setString(2, passenger.getPassengerId());
-            pstmt.setString(3, flightNumber);
-            pstmt.setString(4, seatNumber);
-            pstmt.setTimestamp(5, Timestamp.valueOf(bookingTime));
-            pstmt.setString(6, "CONFIRMED");
-
-            pstmt.executeUpdate();
-            System.out.println("✅ Booking saved to database.");
+        try {
+            BookingDao.insert(booking);
         } catch (Exception e) {
-            System.out.println("❌ Error saving booking: " + e.getMessage());
+            throw new BookingException(BookingErrorCode.DATABASE_ERROR, "Error saving booking: " + e.getMessage(), e);
         }
 
+        bookings.add(booking);
+        AvailabilityFeed.publish(AvailabilityEvent.Type.BOOKING_CONFIRMED, flight, flight.getSellableSeats(), bookingId);
         return booking;
     }
 
+    // Allocate the next passenger ID in this node's stripe
+    private String nextPassengerId() {
+        synchronized (idLock) {
+            String passengerId = "P" + String.format("%04d", passengerCounter);
+            passengerCounter += partition.getNodeCount();
+            return passengerId;
+        }
+    }
 
-    // Generate seat number
-    private String generateSeatNumber(Flight flight) {
-        int seatNum = flight.getTotalSeats() - flight.getAvailableSeats();
-        char row = (char) ('A' + (seatNum - 1) / 6);
-        int col = ((seatNum - 1) % 6) + 1;
-        return row + String.valueOf(col);
+    // Allocate the next booking ID in this node's stripe
+    // (a private lock: waitlist promotions allocate IDs while holding a flight's lock)
+    private String nextBookingId() {
+        synchronized (idLock) {
+            String bookingId = "BK" + String.format("%06d", bookingCounter);
+            bookingCounter += partition.getNodeCount();
+            return bookingId;
+        }
     }
 
+
     // Cancel booking
     public boolean cancelBooking(String bookingId) {
-        boolean success = false;
-
-        try (Connection conn = DatabaseHelper.getConnection();
-             var pstmt = conn.prepareStatement(
-                     "UPDATE bookings SET status = ? WHERE bookingId = ? AND status = ?")) {
-            pstmt.setString(1, "CANCELLED");
-            pstmt.setString(2, bookingId);
-            pstmt.setString(3, "CONFIRMED");
-
-            int rows = pstmt.executeUpdate();
-            if (rows > 0) {
-                System.out.println("✅ Booking " + bookingId + " cancelled and updated in DB.");
-                success = true;
-
-                // also update the seats:
-
-                // get flight number
-                for (Booking b : bookings) {
-                    if (b.getBookingId().equals(bookingId)) {
-                        b.cancelBooking(); // only if present in memory
-                    }
-                }
-                try (Connection conn1 = DatabaseHelper.getConnection();
-                     var pstmt1 = conn1.prepareStatement("SELECT flightNumber FROM bookings WHERE bookingId = ?")) {
-
-                    pstmt1.setString(1, bookingId);
-
-                    try (var rs = pstmt1.executeQuery()) {
-                        if (rs.next()) {
-                            String flightNumber = rs.getString("flightNumber");
-
-                            // find the flight in memory
-                            for (Flight f : flights) {
-                                if (f.getFlightNumber().equals(flightNumber)) {
-                                    f.cancelSeat();  // increase availableSeats
-                                    break;
-                                }
-                            }
-                        }
-                    }
+        try {
+            cancelBookingOrThrow(bookingId);
+            System.out.println("✅ Booking " + bookingId + " cancelled and updated in DB.");
+            return true;
+        } catch (BookingException e) {
+            System.out.println(e.getCode() == BookingErrorCode.BOOKING_NOT_FOUND ? "⚠️ " + e.getMessage() : "❌ " + e.getMessage());
+            return false;
+        }
+    }
 
+    // Cancel booking, reporting failures as a BookingException
+    public void cancelBookingOrThrow(String bookingId) {
+        int rows;
+        try {
+            rows = BookingDao.updateStatus(bookingId, "CONFIRMED", "CANCELLED");
+        } catch (Exception e) {
+            throw new BookingException(BookingErrorCode.DATABASE_ERROR, "Error cancelling booking in DB: " + e.getMessage(), e);
+        }
 
-                } catch (Exception e) {
-                    System.out.println("❌ Error updating available seats after cancel: " + e.getMessage());
-                }
+        if (rows == 0) {
+            throw new BookingException(BookingErrorCode.BOOKING_NOT_FOUND, "Booking not found or already cancelled in DB.");
+        }
 
-            } else {
-                System.out.println("⚠️ Booking not found or already cancelled in DB.");
+        // also update the seats, exactly once: through the booking if it is in memory
+        Booking booking = getBookingDetails(bookingId);
+        if (booking != null) {
+            try {
+                booking.cancelBooking();
+            } catch (RuntimeException e) {
+                throw new BookingException(BookingErrorCode.DATABASE_ERROR, "Error updating available seats after cancel: " + e.getMessage(), e);
             }
+            return;
+        }
 
+        // otherwise look up the flight and seat in the DB
+        try {
+            BookingDao.Row row = BookingDao.findById(bookingId);
+            Flight flight = row != null ? findFlight(row.flightNumber) : null;
+            if (flight != null) {
+                flight.cancelSeat(row.seatNumber);  // increase availableSeats
+            }
         } catch (Exception e) {
-            System.out.println("❌ Error cancelling booking in DB: " + e.getMessage());
+            throw new BookingException(BookingErrorCode.DATABASE_ERROR, "Error updating available seats after cancel: " + e.getMessage(), e);
         }
-
-        return success;
     }
 
 
 
     // Get booking details
     public Booking getBookingDetails(String bookingId) {
-        for (Booking booking : bookings) {
-            if (booking.getBookingId().equals(bookingId)) {
-                return booking;
+        synchronized (bookings) {
+            for (Booking booking : bookings) {
+                if (booking.getBookingId().equals(bookingId)) {
+                    return booking;
+                }
             }
         }
         return null;
@@ -241,46 +469,56 @@ public class FlightBookingSystem {
     // Display all available flights
     public void displayAllFlights() {
         System.out.println("\n=== AVAILABLE FLIGHTS ===");
-        for (Flight flight : flights) {
-            if (flight.getAvailableSeats() > 0) {
-                System.out.println(flight);
-                System.out.println("---");
+        ListingRenderer.writeFlights(System.out, getAvailableFlights(), ListingRenderer.Format.TEXT, 0, 0);
+    }
+
+    // Render one page of available flights as text, JSON or CSV (page is 1-based)
+    public String renderAvailableFlights(ListingRenderer.Format format, int page, int pageSize) {
+        return ListingRenderer.renderFlights(getAvailableFlights(), format, page, pageSize);
+    }
+
+    // Get all bookings held by a passenger
+    public List<Booking> getPassengerBookings(String passengerId) {
+        List<Booking> result = new ArrayList<>();
+        synchronized (bookings) {
+            for (Booking booking : bookings) {
+                if (booking.getPassenger().getPassengerId().equals(passengerId)) {
+                    result.add(booking);
+                }
             }
         }
+        return result;
     }
 
     // Display passenger's bookings
     public void displayPassengerBookings(String passengerId) {
         System.out.println("\n=== BOOKINGS FOR PASSENGER " + passengerId + " ===");
-        boolean found = false;
-        for (Booking booking : bookings) {
-            if (booking.getPassenger().getPassengerId().equals(passengerId)) {
-                System.out.println(booking);
-                System.out.println();
-                found = true;
-            }
-        }
-        if (!found) {
+        List<Booking> passengerBookings = getPassengerBookings(passengerId);
+        ListingRenderer.writeBookings(System.out, passengerBookings, ListingRenderer.Format.TEXT, 0, 0);
+        if (passengerBookings.isEmpty()) {
             System.out.println("No bookings found for this passenger.");
         }
     }
 
+    // Render one page of a passenger's bookings as text, JSON or CSV (page is 1-based)
+    public String renderPassengerBookings(String passengerId, ListingRenderer.Format format, int page, int pageSize) {
+        return ListingRenderer.renderBookings(getPassengerBookings(passengerId), format, page, pageSize);
+    }
+
     // load passengers
     private void loadPassengers() {
-        try (Connection conn = DatabaseHelper.getConnection();
-             var stmt = conn.createStatement();
-             var rs = stmt.executeQuery("SELECT * FROM passengers")) {
-
-            while (rs.next()) {
-                String passengerId = rs.getString("passengerId");
-                String firstName = rs.getString("firstName");
-                String lastName = rs.getString("lastName");
-                String email = rs.getString("email");
-                String phoneNumber = rs.getString("phoneNumber");
-                int age = rs.getInt("age");
-
-                Passenger passenger = new Passenger(passengerId, firstName, lastName, email, phoneNumber, age);
+        int maxId = 0;
+        try {
+            for (Passenger passenger : PassengerDao.findAll()) {
+                // Track the highest ID across all nodes so new IDs never collide with old ones
+                int number = Integer.parseInt(passenger.getPassengerId().substring(1)); // e.g., P0004
+                maxId = Math.max(maxId, number);
+                if (!partition.ownsId(number)) {
+                    continue;
+                }
+
                 passengers.add(passenger);
+                passengerIndex.add(passenger);
             }
 
             // System.out.println("✅ Loaded passengers from database: " + passengers.size());
@@ -288,49 +526,33 @@ public class FlightBookingSystem {
             System.out.println("❌ Error loading passengers: " + e.getMessage());
         }
 
-        if (!passengers.isEmpty()) {
-            String lastPid = passengers.get(passengers.size() - 1).getPassengerId(); // e.g., P0004
-            int num = Integer.parseInt(lastPid.substring(1));
-            passengerCounter = num + 1;
-        }
+        passengerCounter = partition.alignId(maxId + 1);
 
     }
 
     // Load Booking from DB
     private void loadBookings() {
-        try (Connection conn = DatabaseHelper.getConnection();
-             var stmt = conn.createStatement();
-             var rs = stmt.executeQuery("SELECT * FROM bookings")) {
-
-            while (rs.next()) {
-                String bookingId = rs.getString("bookingId");
-                String passengerId = rs.getString("passengerId");
-                String flightNumber = rs.getString("flightNumber");
-                String seatNumber = rs.getString("seatNumber");
-                LocalDateTime bookingTime = rs.getTimestamp("bookingTime").toLocalDateTime();
-                String status = rs.getString("status");
-
-                // Find passenger from list
-                Passenger passenger = findPassenger(passengerId);
+        int maxId = 0;
+        try {
+            for (BookingDao.Row row : BookingDao.findAllWithPassengers()) {
+                maxId = Math.max(maxId, Integer.parseInt(row.bookingId.substring(2))); // e.g., BK000123
+
+                // Find passenger from list; in partitioned mode it may live on another node
+                Passenger passenger = findPassenger(row.passengerId);
+                if (passenger == null) {
+                    passenger = row.passenger;
+                }
 
                 // Find flight from list
-                Flight flight = null;
-                for (Flight f : flights) {
-                    if (f.getFlightNumber().equals(flightNumber)) {
-                        flight = f;
-                        break;
-                    }
-                }
+                Flight flight = findFlight(row.flightNumber);
 
                 if (passenger != null && flight != null) {
-                    Booking booking = new Booking(bookingId, passenger, flight, seatNumber);
-
-                    // manually set status from DB
-                    if (status.equalsIgnoreCase("CANCELLED")) {
-                        booking.cancelBooking();
+                    // keep the stored time and status; a cancelled booking has no seat to give back
+                    String status = row.status.equalsIgnoreCase("CANCELLED") ? "CANCELLED" : "CONFIRMED";
+                    bookings.add(new Booking(row.bookingId, passenger, flight, row.seatNumber, row.bookingTime, status));
+                    if (status.equals("CONFIRMED")) {
+                        flight.restoreBookedSeat(row.seatNumber); // stored seat counts already cover the regular seats
                     }
-
-                    bookings.add(booking);
                 }
             }
 
@@ -339,12 +561,8 @@ public class FlightBookingSystem {
             System.out.println("❌ Error loading bookings: " + e.getMessage());
         }
 
-        if (!bookings.isEmpty()) {
-            // set bookingCounter to max ID + 1
-            String lastId = bookings.get(bookings.size() - 1).getBookingId(); // e.g., BK000123
-            int numericPart = Integer.parseInt(lastId.substring(2));  // get 123
-            bookingCounter = numericPart + 1;
-        }
+        // set bookingCounter to max ID + 1 (rounded up to this node's stripe)
+        bookingCounter = partition.alignId(maxId + 1);
     }
 
 
@@ -362,20 +580,49 @@ public class FlightBookingSystem {
         System.out.println("7. Cancel Booking");
         System.out.println("8. Display All Passengers");
         System.out.println("9. Export Passenger Bookings to CSV");
-        System.out.println("10. Exit");
-        System.out.print("Enter your choice (1-10): ");
+        System.out.println("10. Hold Seats");
+        System.out.println("11. Confirm Seat Hold");
+        System.out.println("12. Release Seat Hold");
+        System.out.println("13. Find Passenger by Email, Phone or Name");
+        System.out.println("14. Exit");
+        System.out.print("Enter your choice (1-14): ");
     }
 
-    // Find passenger by ID
-    public Passenger findPassenger(String passengerId) {
-        for (Passenger passenger : passengers) {
-            if (passenger.getPassengerId().equals(passengerId)) {
-                return passenger;
+    // Find flight by flight number
+    public Flight findFlight(String flightNumber) {
+        for (Flight flight : flights) {
+            if (flight.getFlightNumber().equals(flightNumber)) {
+                return flight;
             }
         }
         return null;
     }
 
+    // Find passenger by ID
+    public Passenger findPassenger(String passengerId) {
+        return passengerIndex.findById(passengerId);
+    }
+
+    // Find passenger by email (case-insensitive)
+    public Passenger findPassengerByEmail(String email) {
+        return passengerIndex.findByEmail(email);
+    }
+
+    // Find passenger by phone number (digits only are compared)
+    public Passenger findPassengerByPhone(String phoneNumber) {
+        return passengerIndex.findByPhone(phoneNumber);
+    }
+
+    // Passenger already registered with this email or phone number, or null
+    public Passenger findDuplicatePassenger(String email, String phoneNumber) {
+        return passengerIndex.findDuplicate(email, phoneNumber);
+    }
+
+    // Find passengers whose full name or last name starts with the prefix
+    public List<Passenger> searchPassengersByName(String prefix, int limit) {
+        return passengerIndex.searchByNamePrefix(prefix, limit);
+    }
+
     // Display all registered passengers
     public void displayAllPassengers() {
         if (passengers.isEmpty()) {
@@ -384,8 +631,10 @@ public class FlightBookingSystem {
         }
 
         System.out.println("\n=== REGISTERED PASSENGERS ===");
-        for (Passenger passenger : passengers) {
-            System.out.println(passenger);
+        synchronized (passengers) {
+            for (Passenger passenger : passengers) {
+                System.out.println(passenger);
+            }
         }
     }
 
@@ -402,23 +651,7 @@ public class FlightBookingSystem {
         String fileName = passenger.getPassengerId() + "_bookings.csv";
 
         try (PrintWriter pw = new PrintWriter(fileName)) {
-            pw.println("BookingId,PassengerName,FlightNumber,Origin,Destination,Departure,SeatNumber,Status");
-
-            for (Booking booking : bookings) {
-                if (booking.getPassenger().getPassengerId().equals(passengerId)) {
-                    pw.printf(
-                            "%s,%s,%s,%s,%s,%s,%s,%s%n",
-                            booking.getBookingId(),
-                            booking.getPassenger().getFullName(),
-                            booking.getFlight().getFlightNumber(),
-                            booking.getFlight().getOrigin(),
-                            booking.getFlight().getDestination(),
-                            booking.getFlight().getDepartureTime(),
-                            booking.getSeatNumber(),
-                            booking.getStatus()
-                    );
-                }
-            }
+            ListingRenderer.writeBookings(pw, getPassengerBookings(passengerId), ListingRenderer.Format.CSV, 0, 0);
             System.out.println("✅ Bookings exported to file: " + fileName);
         } catch (Exception e) {
             System.out.println("❌ Error exporting CSV: " + e.getMessage());
@@ -471,8 +704,10 @@ public class FlightBookingSystem {
                         scanner.nextLine(); // consume newline
 
                         Passenger newPassenger = system.registerPassenger(firstName, lastName, email, phone, age);
-                        System.out.println("\nPassenger registered successfully!");
-                        System.out.println(newPassenger);
+                        if (newPassenger != null) {
+                            System.out.println("\nPassenger registered successfully!");
+                            System.out.println(newPassenger);
+                        }
                         break;
 
                     case 2: // Display All Available Flights
@@ -496,10 +731,7 @@ public class FlightBookingSystem {
                                 System.out.println("No flights found for the route: " + origin + " → " + destination + " on " + date);
                             } else {
                                 System.out.println("\n=== SEARCH RESULTS: " + origin + " → " + destination + " on " + date + " ===");
-                                for (Flight flight : searchResults) {
-                                    System.out.println(flight);
-                                    System.out.println("---");
-                                }
+                                ListingRenderer.writeFlights(System.out, searchResults, ListingRenderer.Format.TEXT, 0, 0);
                             }
                         } catch (DateTimeParseException e) {
                             System.out.println("❌ Invalid date format! Please use yyyy-MM-dd.");
@@ -525,10 +757,31 @@ public class FlightBookingSystem {
                         System.out.print("Enter Flight Number: ");
                         String flightNumber = scanner.nextLine();
 
-                        Booking booking = system.bookTicket(passenger, flightNumber);
-                        if (booking != null) {
+                        try {
+                            Booking booking = system.bookTicketOrThrow(passenger, flightNumber);
+                            System.out.println("✅ Booking saved to database.");
                             System.out.println("\nBooking successful!");
                             System.out.println(booking);
+                        } catch (BookingException e) {
+                            if (e.getCode() != BookingErrorCode.NO_SEATS_AVAILABLE) {
+                                System.out.println(e.getCode() == BookingErrorCode.DATABASE_ERROR ? "❌ " + e.getMessage() : e.getMessage());
+                                break;
+                            }
+
+                            // Full flight: offer the waitlist instead of a dead end
+                            System.out.println(e.getMessage());
+                            System.out.print("Join the waitlist for this flight? (y/n): ");
+                            String joinAnswer = scanner.nextLine();
+                            if (joinAnswer.equalsIgnoreCase("y") || joinAnswer.equalsIgnoreCase("yes")) {
+                                System.out.print("Priority (0 = standard, higher is served first): ");
+                                int priority = scanner.nextInt();
+                                scanner.nextLine(); // consume newline
+
+                                WaitlistEntry entry = system.joinWaitlist(passenger, flightNumber, priority);
+                                if (entry != null && entry.getBookingId() == null) {
+                                    System.out.println("You will be booked automatically when a seat becomes free.");
+                                }
+                            }
                         }
                         break;
 
@@ -585,14 +838,99 @@ public class FlightBookingSystem {
                         break;
 
 
-                    case 10: // Exit
+                    case 10: { // Hold Seats
+                        System.out.println("\n=== HOLD SEATS ===");
+                        System.out.print("Enter Passenger ID: ");
+                        Passenger holdPassenger = system.findPassenger(scanner.nextLine());
+                        if (holdPassenger == null) {
+                            System.out.println("Passenger not found. Please check the Passenger ID.");
+                            break;
+                        }
+                        System.out.print("Enter Flight Number: ");
+                        String holdFlightNumber = scanner.nextLine();
+                        System.out.print("Number of seats: ");
+                        int seatCount = scanner.nextInt();
+                        System.out.print("Hold for how many minutes: ");
+                        int minutes = scanner.nextInt();
+                        scanner.nextLine(); // consume newline
+
+                        SeatHold hold = system.holdSeats(holdPassenger, holdFlightNumber, seatCount, Duration.ofMinutes(minutes));
+                        if (hold != null) {
+                            System.out.println("\nSeats held successfully!");
+                            System.out.println(hold);
+                        }
+                        break;
+                    }
+
+                    case 11: { // Confirm Seat Hold
+                        System.out.println("\n=== CONFIRM SEAT HOLD ===");
+                        System.out.print("Enter Hold ID: ");
+                        List<Booking> holdBookings = system.confirmHold(scanner.nextLine());
+                        for (Booking holdBooking : holdBookings) {
+                            System.out.println(holdBooking);
+                        }
+                        if (!holdBookings.isEmpty()) {
+                            System.out.println("\n" + holdBookings.size() + " booking(s) confirmed!");
+                        }
+                        break;
+                    }
+
+                    case 12: { // Release Seat Hold
+                        System.out.println("\n=== RELEASE SEAT HOLD ===");
+                        System.out.print("Enter Hold ID: ");
+                        String releaseHoldId = scanner.nextLine();
+                        if (system.releaseHold(releaseHoldId)) {
+                            System.out.println("✅ Hold " + releaseHoldId + " released; its seats are back on sale.");
+                        } else {
+                            System.out.println("⚠️ Hold not found, already used or expired.");
+                        }
+                        break;
+                    }
+
+                    case 13: { // Find Passenger
+                        System.out.println("\n=== FIND PASSENGER ===");
+                        System.out.print("Search by (1) Email, (2) Phone or (3) Name: ");
+                        int searchBy = scanner.nextInt();
+                        scanner.nextLine(); // consume newline
+
+                        List<Passenger> found = new ArrayList<>();
+                        if (searchBy == 1) {
+                            System.out.print("Email: ");
+                            Passenger byEmail = system.findPassengerByEmail(scanner.nextLine());
+                            if (byEmail != null) {
+                                found.add(byEmail);
+                            }
+                        } else if (searchBy == 2) {
+                            System.out.print("Phone Number: ");
+                            Passenger byPhone = system.findPassengerByPhone(scanner.nextLine());
+                            if (byPhone != null) {
+                                found.add(byPhone);
+                            }
+                        } else if (searchBy == 3) {
+                            System.out.print("Name starts with: ");
+                            found = system.searchPassengersByName(scanner.nextLine(), PASSENGER_SEARCH_LIMIT);
+                        } else {
+                            System.out.println("Invalid choice! Please select 1, 2 or 3.");
+                            break;
+                        }
+
+                        if (found.isEmpty()) {
+                            System.out.println("No matching passengers found.");
+                        }
+                        for (Passenger match : found) {
+                            System.out.println(match);
+                        }
+                        break;
+                    }
+
+                    case 14: // Exit
                         System.out.println("\nThank you for using Flight Booking System!");
                         System.out.println("Have a safe journey! ✈️");
                         running = false;
                         break;
 
                     default:
-                        System.out.println("Invalid choice! Please select a number between 1-9.");
+                        System.out.println("Invalid choice! Please select a number between 1-14.");
                         break;
                 }
 
@@ -610,6 +948,7 @@ public class FlightBookingSystem {
                 scanner.nextLine(); // clear any remaining input
             }
         }
+        system.close();
         scanner.close();
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+// FlightDao: SQL for the flights table
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+class FlightDao {
+    private static final String FIND_ALL =
+            "SELECT flightNumber, airline, origin, destination, departureTime, arrivalTime, price, totalSeats, availableSeats " +
+                    "FROM flights";
+    private static final String UPDATE_AVAILABLE_SEATS =
+            "UPDATE flights SET availableSeats = ? WHERE flightNumber = ?";
+
+    private FlightDao() { }
+
+    // Flights with their stored seat counts, so inventory survives a restart
+    public static List<Flight> findAll() throws SQLException {
+        List<Flight> flights = new ArrayList<>();
+        try (ResultSet rs = DatabaseHelper.executeQuery(DatabaseHelper.prepare(FIND_ALL))) {
+            while (rs.next()) {
+                flights.add(new Flight(
+                        rs.getString("flightNumber"),
+                        rs.getString("airline"),
+                        rs.getString("origin"),
+                        rs.getString("destination"),
+                        rs.getTimestamp("departureTime").toLocalDateTime(),
+                        rs.getTimestamp("arrivalTime").toLocalDateTime(),
+                        rs.getDouble("price"),
+                        rs.getInt("totalSeats"),
+                        rs.getInt("availableSeats")
+                ));
+            }
+        }
+        return flights;
+    }
+
+    public static int updateAvailableSeats(String flightNumber, int availableSeats) throws SQLException {
+        PreparedStatement pstmt = DatabaseHelper.prepare(UPDATE_AVAILABLE_SEATS);
+        pstmt.setInt(1, availableSeats);
+        pstmt.setString(2, flightNumber);
+        return DatabaseHelper.executeUpdate(pstmt);
+    }
+}
@@ -0,0 +1,220 @@
+// FlightNode: one process of a partitioned deployment, serving its share of flights over a socket
+//
+// Usage: java FlightNode <nodeIndex> <host:port,host:port,...>
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class FlightNode implements AutoCloseable {
+    private final Partition partition;
+    private final FlightBookingSystem system;
+    private final ExecutorService connections;
+
+    public FlightNode(Partition partition) {
+        this.partition = partition;
+        this.system = new FlightBookingSystem(partition);
+        this.connections = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "flight-node-conn");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Accept client connections until the process is stopped
+    public void serve() throws IOException {
+        String[] hostPort = partition.getNodeId().split(":");
+        try (ServerSocket server = new ServerSocket(Integer.parseInt(hostPort[1]), 50,
+                InetAddress.getByName(hostPort[0]))) {
+            System.out.println("✅ Node " + partition.getNodeId() + " serving partition "
+                    + partition.getNodeIndex() + "/" + partition.getNodeCount());
+            while (true) {
+                Socket socket = server.accept();
+                connections.execute(() -> handle(socket));
+            }
+        }
+    }
+
+    // Stop serving open connections and release the booking system's background threads
+    @Override
+    public void close() {
+        connections.shutdownNow();
+        system.close();
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), false, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                List<String> response;
+                try {
+                    response = dispatch(ClusterProtocol.split(line));
+                } catch (Exception e) {
+                    response = error("Bad request: " + e.getMessage());
+                }
+                for (String responseLine : response) {
+                    out.print(responseLine);
+                    out.print('\n');
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            // client went away
+        } finally {
+            // pool threads outlive the client; don't leave its DB connection open behind it
+            DatabaseHelper.closeThreadConnection();
+        }
+    }
+
+    // FlightBookingSystem is thread-safe, so requests from different connections run in parallel
+    private List<String> dispatch(List<String> request) {
+        String command = request.get(0);
+        switch (command) {
+            case "PING":
+                return ok(new ArrayList<>());
+
+            case "LIST": {
+                List<String> lines = new ArrayList<>();
+                for (Flight flight : system.getAvailableFlights()) {
+                    lines.add(ClusterProtocol.flightLine(flight));
+                }
+                return ok(lines);
+            }
+
+            case "SEARCH": {
+                List<String> lines = new ArrayList<>();
+                LocalDate date = LocalDate.parse(request.get(3));
+                for (Flight flight : system.searchFlights(request.get(1), request.get(2), date)) {
+                    lines.add(ClusterProtocol.flightLine(flight));
+                }
+                return ok(lines);
+            }
+
+            case "FIND_PASSENGER": {
+                List<String> lines = new ArrayList<>();
+                Passenger passenger = system.findPassenger(request.get(1));
+                if (passenger != null) {
+                    lines.add(ClusterProtocol.passengerLine(passenger));
+                }
+                return ok(lines);
+            }
+
+            case "FIND_DUPLICATE": {
+                // FIND_DUPLICATE email phoneNumber: a passenger on this node using either of them
+                List<String> lines = new ArrayList<>();
+                Passenger existing = system.findDuplicatePassenger(request.get(1), request.get(2));
+                if (existing != null) {
+                    lines.add(ClusterProtocol.passengerLine(existing));
+                }
+                return ok(lines);
+            }
+
+            case "REGISTER": {
+                Passenger passenger = system.registerPassenger(request.get(1), request.get(2), request.get(3),
+                        request.get(4), Integer.parseInt(request.get(5)));
+                if (passenger == null) {
+                    return error("Passenger registration rejected");
+                }
+                return ok(List.of(ClusterProtocol.passengerLine(passenger)));
+            }
+
+            case "BOOK": {
+                // The passenger may be owned by another node, so the record travels with the request
+                Passenger passenger = ClusterProtocol.readPassenger(request, 2);
+                Booking booking = system.bookTicket(passenger, request.get(1));
+                if (booking == null) {
+                    return error("Booking failed for flight " + request.get(1));
+                }
+                return ok(List.of(ClusterProtocol.bookingLine(booking)));
+            }
+
+            case "CANCEL":
+                if (system.getBookingDetails(request.get(1)) == null) {
+                    return error("Booking not owned by this node");
+                }
+                if (!system.cancelBooking(request.get(1))) {
+                    return error("Booking not found or already cancelled");
+                }
+                return ok(new ArrayList<>());
+
+            case "HOLD": {
+                // HOLD flightNumber seatCount ttlMillis passenger...
+                Passenger passenger = ClusterProtocol.readPassenger(request, 4);
+                try {
+                    SeatHold hold = system.holdSeatsOrThrow(passenger, request.get(1), Integer.parseInt(request.get(2)),
+                            Duration.ofMillis(Long.parseLong(request.get(3))));
+                    return ok(List.of(ClusterProtocol.holdLine(hold)));
+                } catch (BookingException e) {
+                    return error(e.getMessage());
+                }
+            }
+
+            case "CONFIRM_HOLD": {
+                // Hold IDs are striped per node, so only the owner knows this one
+                try {
+                    List<String> lines = new ArrayList<>();
+                    for (Booking booking : system.confirmHoldOrThrow(request.get(1))) {
+                        lines.add(ClusterProtocol.bookingLine(booking));
+                    }
+                    return ok(lines);
+                } catch (BookingException e) {
+                    return error(e.getMessage());
+                }
+            }
+
+            case "RELEASE_HOLD":
+                if (!system.releaseHold(request.get(1))) {
+                    return error("Hold not owned by this node, already used or expired");
+                }
+                return ok(new ArrayList<>());
+
+            case "PASSENGER_BOOKINGS": {
+                List<String> lines = new ArrayList<>();
+                for (Booking booking : system.getPassengerBookings(request.get(1))) {
+                    lines.add(ClusterProtocol.bookingLine(booking));
+                }
+                return ok(lines);
+            }
+
+            default:
+                return error("Unknown command " + command);
+        }
+    }
+
+    private static List<String> ok(List<String> lines) {
+        List<String> response = new ArrayList<>(lines.size() + 1);
+        response.add(ClusterProtocol.OK + "\t" + lines.size());
+        response.addAll(lines);
+        return response;
+    }
+
+    private static List<String> error(String message) {
+        return List.of(ClusterProtocol.join(List.of(ClusterProtocol.ERR, message)));
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: java FlightNode <nodeIndex> <host:port,host:port,...>");
+            return;
+        }
+        List<String> nodes = Arrays.asList(args[1].split(","));
+        ConsistentHashRing ring = new ConsistentHashRing(nodes);
+        Partition partition = new Partition(nodes.get(Integer.parseInt(args[0])), ring);
+        try (FlightNode node = new FlightNode(partition)) {
+            node.serve();
+        }
+    }
+}
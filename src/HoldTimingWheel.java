@@ -0,0 +1,185 @@
+// Hierarchical timing wheel that expires seat holds without a scheduled task per hold
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+class HoldTimingWheel {
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS; // 64 slots per level
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;                   // 64^4 ticks of range
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final Bucket[][] wheels;
+    private final Consumer<SeatHold> onExpire;
+    private long currentTick;
+    private int size;
+    private ScheduledExecutorService ticker;
+
+    // Doubly linked list of holds sharing a slot, so add and remove are O(1)
+    static final class Bucket {
+        private SeatHold head;
+
+        private void add(SeatHold hold) {
+            hold.bucket = this;
+            hold.prev = null;
+            hold.next = head;
+            if (head != null) {
+                head.prev = hold;
+            }
+            head = hold;
+        }
+
+        private void remove(SeatHold hold) {
+            if (hold.prev != null) {
+                hold.prev.next = hold.next;
+            } else {
+                head = hold.next;
+            }
+            if (hold.next != null) {
+                hold.next.prev = hold.prev;
+            }
+            hold.prev = null;
+            hold.next = null;
+            hold.bucket = null;
+        }
+
+        private SeatHold drain() {
+            SeatHold first = head;
+            head = null;
+            return first;
+        }
+    }
+
+    public HoldTimingWheel(long tickMillis, long startMillis, Consumer<SeatHold> onExpire) {
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.onExpire = onExpire;
+        this.wheels = new Bucket[LEVELS][WHEEL_SIZE];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                wheels[level][slot] = new Bucket();
+            }
+        }
+    }
+
+    // Start a single daemon thread that advances the wheel once per tick
+    public synchronized void start() {
+        if (ticker != null) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            // expiries write seat counts from this thread, so give back its DB connection when it stops
+            Thread t = new Thread(() -> {
+                try {
+                    r.run();
+                } finally {
+                    DatabaseHelper.closeThreadConnection();
+                }
+            }, "seat-hold-wheel");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleAtFixedRate(() -> advanceTo(System.currentTimeMillis()),
+                tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    public synchronized int size() { return size; }
+
+    // Schedule a hold to expire at the given wall-clock time
+    public synchronized void schedule(SeatHold hold, long expiresAtMillis) {
+        long deadline = (expiresAtMillis - startMillis + tickMillis - 1) / tickMillis;
+        hold.deadlineTick = Math.max(deadline, currentTick + 1);
+        place(hold);
+        size++;
+    }
+
+    // Remove a hold that was confirmed or released before it expired
+    public synchronized boolean cancel(SeatHold hold) {
+        if (hold.bucket == null) {
+            return false;
+        }
+        hold.bucket.remove(hold);
+        size--;
+        return true;
+    }
+
+    // Process every tick up to the given time; expiry callbacks run outside the wheel lock
+    public void advanceTo(long nowMillis) {
+        List<SeatHold> expired = new ArrayList<>();
+        synchronized (this) {
+            long targetTick = (nowMillis - startMillis) / tickMillis;
+            while (currentTick < targetTick) {
+                tick(expired);
+            }
+        }
+        for (SeatHold hold : expired) {
+            try {
+                onExpire.accept(hold);
+            } catch (Exception e) {
+                System.out.println("❌ Error expiring hold " + hold.getHoldId() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void tick(List<SeatHold> expired) {
+        currentTick++;
+
+        // When a lower level wraps around, pull the matching slot of the level above down
+        for (int level = 1; level < LEVELS; level++) {
+            int shift = WHEEL_BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                break;
+            }
+            Bucket bucket = wheels[level][(int) ((currentTick >>> shift) & WHEEL_MASK)];
+            for (SeatHold hold = bucket.drain(); hold != null; ) {
+                SeatHold next = hold.next;
+                place(hold);
+                hold = next;
+            }
+        }
+
+        Bucket due = wheels[0][(int) (currentTick & WHEEL_MASK)];
+        for (SeatHold hold = due.drain(); hold != null; ) {
+            SeatHold next = hold.next;
+            if (hold.deadlineTick <= currentTick) {
+                hold.prev = null;
+                hold.next = null;
+                hold.bucket = null;
+                size--;
+                expired.add(hold);
+            } else {
+                place(hold);
+            }
+            hold = next;
+        }
+    }
+
+    // Put a hold in the lowest level whose range still covers its deadline
+    private void place(SeatHold hold) {
+        long delta = Math.max(hold.deadlineTick - currentTick, 0);
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = WHEEL_BITS * level;
+            if (delta < (1L << (shift + WHEEL_BITS))) {
+                long slotTick = Math.max(hold.deadlineTick, currentTick);
+                wheels[level][(int) ((slotTick >>> shift) & WHEEL_MASK)].add(hold);
+                return;
+            }
+        }
+        // Beyond the wheel's range: park in the furthest top-level slot and re-place on cascade
+        int shift = WHEEL_BITS * (LEVELS - 1);
+        long parkTick = currentTick + ((long) WHEEL_MASK << shift);
+        wheels[LEVELS - 1][(int) ((parkTick >>> shift) & WHEEL_MASK)].add(hold);
+    }
+}
@@ -0,0 +1,414 @@
+// ListingRenderer: renders flights and tickets as plain text, JSON or CSV without String.format
+//
+// Templates are split into literal segments once, dates are written digit by digit, and each thread
+// reuses one StringBuilder, so rendering a long listing allocates little beyond the output itself.
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+class ListingRenderer {
+    enum Format { TEXT, JSON, CSV }
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+    private static final String[] FLIGHT_TEXT = compile("""
+            ╔════════════════════════════════════════════════════════════════════╗
+            ║                        ✈️  FLIGHT INFORMATION                      ║
+            ╠════════════════════════════════════════════════════════════════════╣
+            ║ Flight      : {} ({})                                           ║
+            ║ Route       : {} → {}                                              ║
+            ║ Departure   : {}                                                   ║
+            ║ Arrival     : {}                                                   ║
+            ║ Price       : ${}                                                ║
+            ║ Seats       : {} available out of {}                               ║
+            ╚════════════════════════════════════════════════════════════════════╝
+            """);
+
+    private static final String[] TICKET_TEXT = compile("""
+            =============================================
+            |              ✈️  FLIGHT TICKET               |
+            =============================================
+            | Booking ID : {} |
+            | Passenger  : {} |
+            | Status     : {} |
+            =============================================
+            | Flight     : {} |
+            | Airline    : {} |
+            | Route      : {} → {} |
+            | Departure  : {} |
+            | Seat       : {} |
+            =============================================
+            | Amount Paid: ${} |
+            | Booked On  : {} |
+            =============================================""");
+
+    private static final String FLIGHT_CSV_HEADER =
+            "FlightNumber,Airline,Origin,Destination,Departure,Arrival,Price,TotalSeats,AvailableSeats\n";
+    private static final String BOOKING_CSV_HEADER =
+            "BookingId,PassengerName,FlightNumber,Origin,Destination,Departure,SeatNumber,Status\n";
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    private ListingRenderer() { }
+
+    // Flight.toString(): the boxed flight information card
+    public static String flightText(Flight flight) {
+        StringBuilder sb = buffer();
+        appendFlight(sb, flight, Format.TEXT);
+        return sb.toString();
+    }
+
+    // Booking.toString(): the printed ticket
+    public static String ticketText(Booking booking) {
+        StringBuilder sb = buffer();
+        appendBooking(sb, booking, Format.TEXT);
+        return sb.toString();
+    }
+
+    public static void appendFlight(StringBuilder sb, Flight flight, Format format) {
+        switch (format) {
+            case TEXT:
+                sb.append(FLIGHT_TEXT[0]);
+                padRight(sb, flight.getFlightNumber(), 10);
+                sb.append(FLIGHT_TEXT[1]).append(flight.getAirline());
+                sb.append(FLIGHT_TEXT[2]).append(flight.getOrigin());
+                sb.append(FLIGHT_TEXT[3]).append(flight.getDestination());
+                sb.append(FLIGHT_TEXT[4]);
+                appendDateTime(sb, flight.getDepartureTime());
+                sb.append(FLIGHT_TEXT[5]);
+                appendDateTime(sb, flight.getArrivalTime());
+                sb.append(FLIGHT_TEXT[6]);
+                appendMoney(sb, flight.getPrice());
+                sb.append(FLIGHT_TEXT[7]).append(flight.getSellableSeats());
+                sb.append(FLIGHT_TEXT[8]).append(flight.getTotalSeats());
+                sb.append(FLIGHT_TEXT[9]);
+                break;
+
+            case JSON:
+                sb.append("{\"flightNumber\":");
+                appendJsonString(sb, flight.getFlightNumber());
+                sb.append(",\"airline\":");
+                appendJsonString(sb, flight.getAirline());
+                sb.append(",\"origin\":");
+                appendJsonString(sb, flight.getOrigin());
+                sb.append(",\"destination\":");
+                appendJsonString(sb, flight.getDestination());
+                sb.append(",\"departureTime\":\"");
+                appendDateTime(sb, flight.getDepartureTime());
+                sb.append("\",\"arrivalTime\":\"");
+                appendDateTime(sb, flight.getArrivalTime());
+                sb.append("\",\"price\":");
+                appendMoney(sb, flight.getPrice());
+                sb.append(",\"totalSeats\":").append(flight.getTotalSeats());
+                sb.append(",\"availableSeats\":").append(flight.getSellableSeats());
+                sb.append('}');
+                break;
+
+            case CSV:
+                appendCsv(sb, flight.getFlightNumber()).append(',');
+                appendCsv(sb, flight.getAirline()).append(',');
+                appendCsv(sb, flight.getOrigin()).append(',');
+                appendCsv(sb, flight.getDestination()).append(',');
+                appendDateTime(sb, flight.getDepartureTime());
+                sb.append(',');
+                appendDateTime(sb, flight.getArrivalTime());
+                sb.append(',');
+                appendMoney(sb, flight.getPrice());
+                sb.append(',').append(flight.getTotalSeats());
+                sb.append(',').append(flight.getSellableSeats());
+                sb.append('\n');
+                break;
+        }
+    }
+
+    public static void appendBooking(StringBuilder sb, Booking booking, Format format) {
+        Flight flight = booking.getFlight();
+        Passenger passenger = booking.getPassenger();
+        switch (format) {
+            case TEXT:
+                sb.append(TICKET_TEXT[0]);
+                padRight(sb, booking.getBookingId(), 30);
+                sb.append(TICKET_TEXT[1]);
+                padRight(sb, passenger.getFullName(), 30);
+                sb.append(TICKET_TEXT[2]);
+                padRight(sb, booking.getStatus(), 30);
+                sb.append(TICKET_TEXT[3]);
+                padRight(sb, flight.getFlightNumber(), 30);
+                sb.append(TICKET_TEXT[4]);
+                padRight(sb, flight.getAirline(), 30);
+                sb.append(TICKET_TEXT[5]);
+                padRight(sb, flight.getOrigin(), 14);
+                sb.append(TICKET_TEXT[6]);
+                padRight(sb, flight.getDestination(), 13);
+                sb.append(TICKET_TEXT[7]);
+                int start = sb.length();
+                appendDateTime(sb, flight.getDepartureTime());
+                padTo(sb, start, 30);
+                sb.append(TICKET_TEXT[8]);
+                padRight(sb, booking.getSeatNumber(), 30);
+                sb.append(TICKET_TEXT[9]);
+                start = sb.length();
+                appendMoney(sb, flight.getPrice());
+                padTo(sb, start, 29);
+                sb.append(TICKET_TEXT[10]);
+                start = sb.length();
+                appendDateTime(sb, booking.getBookingTime());
+                padTo(sb, start, 30);
+                sb.append(TICKET_TEXT[11]);
+                break;
+
+            case JSON:
+                sb.append("{\"bookingId\":");
+                appendJsonString(sb, booking.getBookingId());
+                sb.append(",\"status\":");
+                appendJsonString(sb, booking.getStatus());
+                sb.append(",\"seatNumber\":");
+                appendJsonString(sb, booking.getSeatNumber());
+                sb.append(",\"bookingTime\":\"");
+                appendDateTime(sb, booking.getBookingTime());
+                sb.append("\",\"passengerId\":");
+                appendJsonString(sb, passenger.getPassengerId());
+                sb.append(",\"passengerName\":");
+                appendJsonString(sb, passenger.getFullName());
+                sb.append(",\"amountPaid\":");
+                appendMoney(sb, flight.getPrice());
+                sb.append(",\"flight\":");
+                appendFlight(sb, flight, Format.JSON);
+                sb.append('}');
+                break;
+
+            case CSV:
+                // Same columns as the passenger bookings export
+                appendCsv(sb, booking.getBookingId()).append(',');
+                appendCsv(sb, passenger.getFullName()).append(',');
+                appendCsv(sb, flight.getFlightNumber()).append(',');
+                appendCsv(sb, flight.getOrigin()).append(',');
+                appendCsv(sb, flight.getDestination()).append(',');
+                sb.append(flight.getDepartureTime()).append(',');
+                appendCsv(sb, booking.getSeatNumber()).append(',');
+                appendCsv(sb, booking.getStatus());
+                sb.append('\n');
+                break;
+        }
+    }
+
+    // Write one page of flights (page is 1-based; pageSize <= 0 writes everything)
+    public static void writeFlights(Appendable out, List<Flight> flights, Format format, int page, int pageSize) {
+        StringBuilder sb = buffer();
+        int[] range = pageRange(flights.size(), page, pageSize);
+        if (format == Format.CSV) {
+            sb.append(FLIGHT_CSV_HEADER);
+        } else if (format == Format.JSON) {
+            appendJsonPageHeader(sb, flights.size(), page, pageSize);
+        }
+        for (int i = range[0]; i < range[1]; i++) {
+            if (format == Format.JSON && i > range[0]) {
+                sb.append(',');
+            }
+            appendFlight(sb, flights.get(i), format);
+            if (format == Format.TEXT) {
+                sb.append("\n---\n");
+            }
+            flushIfFull(out, sb);
+        }
+        appendPageFooter(sb, format, flights.size(), page, pageSize, "flights");
+        flush(out, sb);
+    }
+
+    // Write one page of tickets (page is 1-based; pageSize <= 0 writes everything)
+    public static void writeBookings(Appendable out, List<Booking> bookings, Format format, int page, int pageSize) {
+        StringBuilder sb = buffer();
+        int[] range = pageRange(bookings.size(), page, pageSize);
+        if (format == Format.CSV) {
+            sb.append(BOOKING_CSV_HEADER);
+        } else if (format == Format.JSON) {
+            appendJsonPageHeader(sb, bookings.size(), page, pageSize);
+        }
+        for (int i = range[0]; i < range[1]; i++) {
+            if (format == Format.JSON && i > range[0]) {
+                sb.append(',');
+            }
+            appendBooking(sb, bookings.get(i), format);
+            if (format == Format.TEXT) {
+                sb.append("\n\n");
+            }
+            flushIfFull(out, sb);
+        }
+        appendPageFooter(sb, format, bookings.size(), page, pageSize, "bookings");
+        flush(out, sb);
+    }
+
+    // Render one page of flights into a String (for API responses)
+    public static String renderFlights(List<Flight> flights, Format format, int page, int pageSize) {
+        StringBuilder out = new StringBuilder();
+        writeFlights(out, flights, format, page, pageSize);
+        return out.toString();
+    }
+
+    public static String renderBookings(List<Booking> bookings, Format format, int page, int pageSize) {
+        StringBuilder out = new StringBuilder();
+        writeBookings(out, bookings, format, page, pageSize);
+        return out.toString();
+    }
+
+    public static int pageCount(int total, int pageSize) {
+        return pageSize <= 0 ? 1 : Math.max(1, (total + pageSize - 1) / pageSize);
+    }
+
+    private static int[] pageRange(int total, int page, int pageSize) {
+        if (pageSize <= 0) {
+            return new int[] {0, total};
+        }
+        int from = (int) Math.min((long) Math.max(page - 1, 0) * pageSize, total);
+        return new int[] {from, Math.min(from + pageSize, total)};
+    }
+
+    private static void appendJsonPageHeader(StringBuilder sb, int total, int page, int pageSize) {
+        sb.append("{\"page\":").append(pageSize <= 0 ? 1 : Math.max(page, 1));
+        sb.append(",\"pageSize\":").append(pageSize <= 0 ? total : pageSize);
+        sb.append(",\"total\":").append(total);
+        sb.append(",\"items\":[");
+    }
+
+    private static void appendPageFooter(StringBuilder sb, Format format, int total, int page, int pageSize,
+                                         String noun) {
+        if (format == Format.JSON) {
+            sb.append("]}\n");
+        } else if (format == Format.TEXT && pageSize > 0) {
+            sb.append("Page ").append(Math.max(page, 1)).append(" of ").append(pageCount(total, pageSize));
+            sb.append(" (").append(total).append(' ').append(noun).append(")\n");
+        }
+    }
+
+    private static StringBuilder buffer() {
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        return sb;
+    }
+
+    private static void flushIfFull(Appendable out, StringBuilder sb) {
+        if (sb.length() >= FLUSH_THRESHOLD) {
+            flush(out, sb);
+        }
+    }
+
+    private static void flush(Appendable out, StringBuilder sb) {
+        try {
+            out.append(sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        sb.setLength(0);
+    }
+
+    // Split a template on its {} holes once, at class load
+    private static String[] compile(String template) {
+        return template.split("\\{}", -1);
+    }
+
+    // Same as %-<width>s
+    private static void padRight(StringBuilder sb, String value, int width) {
+        int start = sb.length();
+        sb.append(value);
+        padTo(sb, start, width);
+    }
+
+    private static void padTo(StringBuilder sb, int start, int width) {
+        for (int written = sb.length() - start; written < width; written++) {
+            sb.append(' ');
+        }
+    }
+
+    // yyyy-MM-dd HH:mm, written digit by digit
+    private static void appendDateTime(StringBuilder sb, LocalDateTime time) {
+        int year = time.getYear();
+        if (year < 1000 || year > 9999) {
+            DATE_TIME.formatTo(time, sb);
+            return;
+        }
+        sb.append(year).append('-');
+        appendTwoDigits(sb, time.getMonthValue());
+        sb.append('-');
+        appendTwoDigits(sb, time.getDayOfMonth());
+        sb.append(' ');
+        appendTwoDigits(sb, time.getHour());
+        sb.append(':');
+        appendTwoDigits(sb, time.getMinute());
+    }
+
+    private static void appendTwoDigits(StringBuilder sb, int value) {
+        sb.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    // Same digits as %.2f (half-up on the shortest decimal form of the double)
+    private static void appendMoney(StringBuilder sb, double amount) {
+        double scaled = Math.abs(amount) * 100;
+        double fraction = scaled - Math.floor(scaled);
+        if (Double.isNaN(amount) || Double.isInfinite(amount) || scaled >= 1e15 || Math.abs(fraction - 0.5) < 1e-6) {
+            // rare: huge values or values sitting on a rounding boundary
+            sb.append(BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP).toPlainString());
+            return;
+        }
+        long cents = Math.round(scaled);
+        if (amount < 0 && cents != 0) {
+            sb.append('-');
+        }
+        sb.append(cents / 100).append('.');
+        appendTwoDigits(sb, (int) (cents % 100));
+    }
+
+    private static void appendJsonString(StringBuilder sb, String value) {
+        if (value == null) {
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append("\\u00");
+                        sb.append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+
+    // Quote a CSV field only when it contains a separator, quote or line break
+    private static StringBuilder appendCsv(StringBuilder sb, String value) {
+        if (value == null) {
+            return sb;
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            return sb.append(value);
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                sb.append('"');
+            }
+            sb.append(c);
+        }
+        return sb.append('"');
+    }
+}
@@ -0,0 +1,94 @@
+// LocalClusterHarness: starts N FlightNode processes on loopback ports and runs a smoke scenario
+//
+// Usage: java LocalClusterHarness [nodeCount] [basePort]
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LocalClusterHarness {
+
+    public static void main(String[] args) throws Exception {
+        int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int basePort = args.length > 1 ? Integer.parseInt(args[1]) : 7400;
+
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < nodeCount; i++) {
+            nodes.add("127.0.0.1:" + (basePort + i));
+        }
+        String nodeList = String.join(",", nodes);
+
+        // Each node is a separate JVM running from the same classpath
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        String classpath = System.getProperty("java.class.path");
+        List<Process> processes = new ArrayList<>();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> processes.forEach(Process::destroy)));
+        for (int i = 0; i < nodeCount; i++) {
+            processes.add(new ProcessBuilder(java, "-cp", classpath, "FlightNode", String.valueOf(i), nodeList)
+                    .inheritIO()
+                    .start());
+        }
+
+        try (ClusterClient client = new ClusterClient(nodes)) {
+            for (String node : nodes) {
+                if (!waitForNode(client, node, 30_000)) {
+                    System.out.println("❌ Node " + node + " did not start.");
+                    return;
+                }
+            }
+            System.out.println("✅ " + nodeCount + " nodes up: " + nodeList);
+            runScenario(client);
+        } finally {
+            for (Process process : processes) {
+                process.destroy();
+            }
+        }
+    }
+
+    private static boolean waitForNode(ClusterClient client, String node, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (System.currentTimeMillis() < deadline) {
+            if (client.ping(node)) {
+                return true;
+            }
+            Thread.sleep(200);
+        }
+        return false;
+    }
+
+    private static void runScenario(ClusterClient client) {
+        System.out.println("\n=== CLUSTER: AVAILABLE FLIGHTS ===");
+        List<Flight> flights = client.getAvailableFlights();
+        System.out.println("Flights across all partitions: " + flights.size());
+        if (flights.isEmpty()) {
+            System.out.println("No flights loaded; check the database connection of the nodes.");
+            return;
+        }
+
+        Flight first = flights.get(0);
+        System.out.println("\n=== CLUSTER: SEARCH " + first.getOrigin() + " → " + first.getDestination() + " ===");
+        for (Flight flight : client.searchFlights(first.getOrigin(), first.getDestination(),
+                first.getDepartureTime().toLocalDate())) {
+            System.out.println(flight.getFlightNumber() + " (" + flight.getSellableSeats() + " seats)");
+        }
+
+        System.out.println("\n=== CLUSTER: REGISTER AND BOOK ===");
+        String suffix = String.valueOf(System.currentTimeMillis() % 1_000_000);
+        Passenger passenger = client.registerPassenger("Cluster", "Harness",
+                "harness" + suffix + "@example.com", "9" + String.format("%09d", Long.parseLong(suffix)), 30);
+        if (passenger == null) {
+            System.out.println("❌ Registration failed.");
+            return;
+        }
+        System.out.println(passenger);
+        System.out.println("Found via scatter lookup: " + (client.findPassenger(passenger.getPassengerId()) != null));
+
+        Booking booking = client.bookTicket(passenger, first.getFlightNumber());
+        if (booking == null) {
+            System.out.println("❌ Booking failed.");
+            return;
+        }
+        System.out.println(booking);
+        System.out.println("Bookings for passenger: " + client.getPassengerBookings(passenger.getPassengerId()).size());
+        System.out.println("Cancelled: " + client.cancelBooking(booking.getBookingId()));
+    }
+}
@@ -0,0 +1,41 @@
+// OverbookingPolicy class: how many seats beyond capacity a flight may sell
+//
+// The allowance is capacity x historical no-show rate x a safety factor, capped at a fixed share
+// of capacity, so expected no-shows are filled without routinely denying boarding.
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+class OverbookingPolicy {
+    private final double defaultNoShowRate;
+    private final double safetyFactor;
+    private final double maxOverbookFraction;
+    private final Map<String, Double> noShowRates;
+
+    public OverbookingPolicy(double defaultNoShowRate, double safetyFactor, double maxOverbookFraction) {
+        this.defaultNoShowRate = defaultNoShowRate;
+        this.safetyFactor = safetyFactor;
+        this.maxOverbookFraction = maxOverbookFraction;
+        this.noShowRates = new ConcurrentHashMap<>();
+    }
+
+    // No overbooking at all
+    public static OverbookingPolicy none() {
+        return new OverbookingPolicy(0, 0, 0);
+    }
+
+    // Record the observed no-show rate (0.0 - 1.0) for a flight
+    public void setNoShowRate(String flightNumber, double rate) {
+        noShowRates.put(flightNumber, Math.max(0, Math.min(1, rate)));
+    }
+
+    public double getNoShowRate(String flightNumber) {
+        return noShowRates.getOrDefault(flightNumber, defaultNoShowRate);
+    }
+
+    public int allowanceFor(Flight flight) {
+        int seats = flight.getTotalSeats();
+        int expectedNoShows = (int) Math.floor(seats * getNoShowRate(flight.getFlightNumber()) * safetyFactor);
+        int cap = (int) Math.floor(seats * maxOverbookFraction);
+        return Math.max(0, Math.min(expectedNoShows, cap));
+    }
+}
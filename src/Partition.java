@@ -0,0 +1,44 @@
+// Partition class describing which flights, passengers and IDs one node owns
+import java.util.List;
+
+class Partition {
+    private final String nodeId;
+    private final int nodeIndex;
+    private final ConsistentHashRing ring;
+
+    public Partition(String nodeId, ConsistentHashRing ring) {
+        this.nodeId = nodeId;
+        this.nodeIndex = ring.indexOf(nodeId);
+        this.ring = ring;
+        if (nodeIndex < 0) {
+            throw new IllegalArgumentException("Node " + nodeId + " is not part of the ring");
+        }
+    }
+
+    // A single process that owns everything
+    public static Partition single() {
+        return new Partition("local", new ConsistentHashRing(List.of("local")));
+    }
+
+    // Getters
+    public String getNodeId() { return nodeId; }
+    public int getNodeIndex() { return nodeIndex; }
+    public int getNodeCount() { return ring.size(); }
+    public ConsistentHashRing getRing() { return ring; }
+
+    // Flights are consistent-hashed by flight number
+    public boolean ownsFlight(String flightNumber) {
+        return ring.size() == 1 || ring.ownerOf(flightNumber).equals(nodeId);
+    }
+
+    // Passenger and booking IDs are striped: node i owns numbers where number % nodeCount == i
+    public boolean ownsId(int number) {
+        return number % ring.size() == nodeIndex;
+    }
+
+    // First ID number at or above the given one that this node may allocate
+    public int alignId(int number) {
+        int remainder = Math.floorMod(number - nodeIndex, ring.size());
+        return remainder == 0 ? number : number + ring.size() - remainder;
+    }
+}
@@ -0,0 +1,43 @@
+// PassengerDao: SQL for the passengers table
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+class PassengerDao {
+    private static final String FIND_ALL =
+            "SELECT passengerId, firstName, lastName, email, phoneNumber, age FROM passengers";
+    private static final String INSERT =
+            "INSERT INTO passengers (passengerId, firstName, lastName, email, phoneNumber, age) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private PassengerDao() { }
+
+    public static List<Passenger> findAll() throws SQLException {
+        List<Passenger> passengers = new ArrayList<>();
+        try (ResultSet rs = DatabaseHelper.executeQuery(DatabaseHelper.prepare(FIND_ALL))) {
+            while (rs.next()) {
+                passengers.add(new Passenger(
+                        rs.getString("passengerId"),
+                        rs.getString("firstName"),
+                        rs.getString("lastName"),
+                        rs.getString("email"),
+                        rs.getString("phoneNumber"),
+                        rs.getInt("age")
+                ));
+            }
+        }
+        return passengers;
+    }
+
+    public static void insert(Passenger passenger) throws SQLException {
+        PreparedStatement pstmt = DatabaseHelper.prepare(INSERT);
+        pstmt.setString(1, passenger.getPassengerId());
+        pstmt.setString(2, passenger.getFirstName());
+        pstmt.setString(3, passenger.getLastName());
+        pstmt.setString(4, passenger.getEmail());
+        pstmt.setString(5, passenger.getPhoneNumber());
+        pstmt.setInt(6, passenger.getAge());
+        DatabaseHelper.executeUpdate(pstmt);
+    }
+}
@@ -0,0 +1,145 @@
+// PassengerIndex: lookups by ID, email, phone and name prefix without scanning the passenger list
+//
+// Email and phone are normalized and kept in hash maps, so duplicate checks are O(1). Names live in
+// a sorted map, so a prefix search is a range scan: O(log n + matches).
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+class PassengerIndex {
+    private final Map<String, Passenger> byId;
+    private final Map<String, Passenger> byEmail;
+    private final Map<String, Passenger> byPhone;
+    private final NavigableMap<String, List<Passenger>> byName;
+
+    public PassengerIndex() {
+        this.byId = new HashMap<>();
+        this.byEmail = new HashMap<>();
+        this.byPhone = new HashMap<>();
+        this.byName = new TreeMap<>();
+    }
+
+    // Add a passenger loaded from the database; existing email/phone entries are kept
+    public synchronized void add(Passenger passenger) {
+        byId.put(passenger.getPassengerId(), passenger);
+        putIfPresent(byEmail, normalizeEmail(passenger.getEmail()), passenger);
+        putIfPresent(byPhone, normalizePhone(passenger.getPhoneNumber()), passenger);
+        addName(fullNameKey(passenger), passenger);
+        addName(normalizeName(passenger.getLastName()), passenger);
+    }
+
+    // Add a new registration unless its email or phone is taken; returns the existing passenger if so
+    public synchronized Passenger addIfUnique(Passenger passenger) {
+        Passenger existing = findDuplicate(passenger.getEmail(), passenger.getPhoneNumber());
+        if (existing != null) {
+            return existing;
+        }
+        add(passenger);
+        return null;
+    }
+
+    // Undo an add, e.g. when the registration could not be stored
+    public synchronized void remove(Passenger passenger) {
+        byId.remove(passenger.getPassengerId(), passenger);
+        byEmail.remove(normalizeEmail(passenger.getEmail()), passenger);
+        byPhone.remove(normalizePhone(passenger.getPhoneNumber()), passenger);
+        removeName(fullNameKey(passenger), passenger);
+        removeName(normalizeName(passenger.getLastName()), passenger);
+    }
+
+    public synchronized Passenger findById(String passengerId) {
+        return byId.get(passengerId);
+    }
+
+    public synchronized Passenger findByEmail(String email) {
+        String key = normalizeEmail(email);
+        return key.isEmpty() ? null : byEmail.get(key);
+    }
+
+    public synchronized Passenger findByPhone(String phoneNumber) {
+        String key = normalizePhone(phoneNumber);
+        return key.isEmpty() ? null : byPhone.get(key);
+    }
+
+    // Passenger already registered with this email or phone number, or null
+    public synchronized Passenger findDuplicate(String email, String phoneNumber) {
+        Passenger existing = findByEmail(email);
+        return existing != null ? existing : findByPhone(phoneNumber);
+    }
+
+    // Passengers whose full name or last name starts with the prefix, in name order
+    public synchronized List<Passenger> searchByNamePrefix(String prefix, int limit) {
+        String key = normalizeName(prefix);
+        Set<Passenger> matches = new LinkedHashSet<>();
+        if (key.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        for (List<Passenger> bucket : byName.subMap(key, true, key + Character.MAX_VALUE, false).values()) {
+            for (Passenger passenger : bucket) {
+                matches.add(passenger);
+                if (matches.size() >= limit) {
+                    return new ArrayList<>(matches);
+                }
+            }
+        }
+        return new ArrayList<>(matches);
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    private static void putIfPresent(Map<String, Passenger> map, String key, Passenger passenger) {
+        if (!key.isEmpty()) {
+            map.putIfAbsent(key, passenger);
+        }
+    }
+
+    private void addName(String key, Passenger passenger) {
+        if (!key.isEmpty()) {
+            byName.computeIfAbsent(key, k -> new ArrayList<>(1)).add(passenger);
+        }
+    }
+
+    private void removeName(String key, Passenger passenger) {
+        List<Passenger> bucket = byName.get(key);
+        if (bucket != null) {
+            bucket.remove(passenger);
+            if (bucket.isEmpty()) {
+                byName.remove(key);
+            }
+        }
+    }
+
+    private static String fullNameKey(Passenger passenger) {
+        return normalizeName(passenger.getFullName());
+    }
+
+    static String normalizeEmail(String email) {
+        return email == null ? "" : email.trim().toLowerCase();
+    }
+
+    // Keep digits only, so "98765 43210" and "9876543210" match
+    static String normalizePhone(String phoneNumber) {
+        if (phoneNumber == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(phoneNumber.length());
+        for (int i = 0; i < phoneNumber.length(); i++) {
+            char c = phoneNumber.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    static String normalizeName(String name) {
+        return name == null ? "" : name.trim().replaceAll("\\s+", " ").toLowerCase();
+    }
+}
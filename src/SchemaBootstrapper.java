@@ -0,0 +1,81 @@
+// SchemaBootstrapper: creates the tables and secondary indexes the queries rely on
+//
+// Safe to run on every start: tables use CREATE TABLE IF NOT EXISTS, and an index is only created
+// when DatabaseMetaData shows no index that already starts with its column.
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+class SchemaBootstrapper {
+    private static final String[] TABLES = {
+            """
+            CREATE TABLE IF NOT EXISTS flights (
+                flightNumber VARCHAR(10) PRIMARY KEY,
+                airline VARCHAR(50) NOT NULL,
+                origin VARCHAR(50) NOT NULL,
+                destination VARCHAR(50) NOT NULL,
+                departureTime DATETIME NOT NULL,
+                arrivalTime DATETIME NOT NULL,
+                price DECIMAL(10,2) NOT NULL,
+                totalSeats INT NOT NULL,
+                availableSeats INT NOT NULL
+            )""",
+            """
+            CREATE TABLE IF NOT EXISTS passengers (
+                passengerId VARCHAR(10) PRIMARY KEY,
+                firstName VARCHAR(50) NOT NULL,
+                lastName VARCHAR(50) NOT NULL,
+                email VARCHAR(100) NOT NULL,
+                phoneNumber VARCHAR(15) NOT NULL,
+                age INT NOT NULL
+            )""",
+            """
+            CREATE TABLE IF NOT EXISTS bookings (
+                bookingId VARCHAR(10) PRIMARY KEY,
+                passengerId VARCHAR(10) NOT NULL,
+                flightNumber VARCHAR(10) NOT NULL,
+                seatNumber VARCHAR(5) NOT NULL,
+                bookingTime DATETIME NOT NULL,
+                status VARCHAR(20) NOT NULL
+            )"""
+    };
+
+    // { table, leading column, index name }
+    private static final String[][] INDEXES = {
+            {"bookings", "passengerId", "idx_bookings_passenger"}, // a passenger's bookings, the passengers join
+            {"bookings", "flightNumber", "idx_bookings_flight"}     // a flight's bookings
+    };
+
+    private SchemaBootstrapper() { }
+
+    public static void bootstrap() throws SQLException {
+        try (Connection conn = DatabaseHelper.getConnection();
+             Statement stmt = conn.createStatement()) {
+            for (String table : TABLES) {
+                stmt.executeUpdate(table);
+            }
+            DatabaseMetaData metaData = conn.getMetaData();
+            for (String[] index : INDEXES) {
+                if (!hasLeadingIndex(metaData, conn.getCatalog(), index[0], index[1])) {
+                    stmt.executeUpdate("CREATE INDEX " + index[2] + " ON " + index[0] + " (" + index[1] + ")");
+                    System.out.println("✅ Created index " + index[2] + " on " + index[0] + "(" + index[1] + ").");
+                }
+            }
+        }
+    }
+
+    // True if some index on the table has the column in first position (so it can serve lookups on it)
+    private static boolean hasLeadingIndex(DatabaseMetaData metaData, String catalog, String table, String column)
+            throws SQLException {
+        try (ResultSet rs = metaData.getIndexInfo(catalog, null, table, false, true)) {
+            while (rs.next()) {
+                if (rs.getShort("ORDINAL_POSITION") == 1 && column.equalsIgnoreCase(rs.getString("COLUMN_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,60 @@
+// SeatHold class to represent seats temporarily reserved while a passenger pays
+import java.time.LocalDateTime;
+
+class SeatHold {
+    private final String holdId;
+    private final Passenger passenger;
+    private final Flight flight;
+    private final int seatCount;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime expiresAt;
+    private String status; // HELD, CONFIRMED, RELEASED, EXPIRED
+
+    // Timing wheel bookkeeping, only touched by HoldTimingWheel under its lock
+    long deadlineTick;
+    SeatHold prev;
+    SeatHold next;
+    HoldTimingWheel.Bucket bucket;
+
+    public SeatHold(String holdId, Passenger passenger, Flight flight, int seatCount,
+                    LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.holdId = holdId;
+        this.passenger = passenger;
+        this.flight = flight;
+        this.seatCount = seatCount;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+        this.status = "HELD";
+    }
+
+    // Rebuild a hold that was placed elsewhere (e.g. received from another node)
+    public SeatHold(String holdId, Passenger passenger, Flight flight, int seatCount,
+                    LocalDateTime createdAt, LocalDateTime expiresAt, String status) {
+        this(holdId, passenger, flight, seatCount, createdAt, expiresAt);
+        this.status = status;
+    }
+
+    // Getters
+    public String getHoldId() { return holdId; }
+    public Passenger getPassenger() { return passenger; }
+    public Flight getFlight() { return flight; }
+    public int getSeatCount() { return seatCount; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public synchronized String getStatus() { return status; }
+
+    // Move out of HELD exactly once, so confirm, release and expiry cannot race each other
+    synchronized boolean finish(String newStatus) {
+        if (!status.equals("HELD")) {
+            return false;
+        }
+        status = newStatus;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Hold %s: %d seat(s) on %s for %s (%s, expires %s)",
+                holdId, seatCount, flight.getFlightNumber(), passenger.getFullName(), getStatus(), expiresAt);
+    }
+}
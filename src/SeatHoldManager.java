@@ -0,0 +1,95 @@
+// SeatHoldManager class to place, confirm and expire temporary seat reservations
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SeatHoldManager {
+    private static final long TICK_MILLIS = 100;
+
+    private final Map<String, SeatHold> holds;
+    private final AtomicInteger holdCounter;
+    private final int idStep;
+    private final HoldTimingWheel wheel;
+
+    public SeatHoldManager() {
+        this(1, 1);
+    }
+
+    // Hold IDs start at firstId and advance by idStep, so nodes of a partitioned deployment never share one
+    public SeatHoldManager(int firstId, int idStep) {
+        this.holds = new ConcurrentHashMap<>();
+        this.holdCounter = new AtomicInteger(firstId);
+        this.idStep = idStep;
+        this.wheel = new HoldTimingWheel(TICK_MILLIS, System.currentTimeMillis(), this::expire);
+        this.wheel.start();
+    }
+
+    // Hold seats on a flight for the given time; returns null if not enough seats are free
+    public SeatHold hold(Passenger passenger, Flight flight, int seatCount, Duration ttl) {
+        if (!flight.holdSeats(seatCount)) {
+            return null;
+        }
+
+        long nowMillis = System.currentTimeMillis();
+        long expiresAtMillis = nowMillis + ttl.toMillis();
+        String holdId = "HD" + String.format("%06d", holdCounter.getAndAdd(idStep));
+        SeatHold hold = new SeatHold(holdId, passenger, flight, seatCount,
+                toLocalDateTime(nowMillis), toLocalDateTime(expiresAtMillis));
+
+        holds.put(holdId, hold);
+        wheel.schedule(hold, expiresAtMillis);
+        return hold;
+    }
+
+    public SeatHold getHold(String holdId) {
+        return holds.get(holdId);
+    }
+
+    // Claim a hold for checkout; the caller turns its seats into bookings
+    public SeatHold confirm(String holdId) {
+        SeatHold hold = holds.get(holdId);
+        if (hold == null || !hold.finish("CONFIRMED")) {
+            return null;
+        }
+        wheel.cancel(hold);
+        holds.remove(holdId);
+        return hold;
+    }
+
+    // Release a hold early, e.g. when the customer abandons checkout
+    public boolean release(String holdId) {
+        SeatHold hold = holds.get(holdId);
+        if (hold == null || !hold.finish("RELEASED")) {
+            return false;
+        }
+        wheel.cancel(hold);
+        holds.remove(holdId);
+        hold.getFlight().releaseHeldSeats(hold.getSeatCount());
+        return true;
+    }
+
+    public int getActiveHoldCount() {
+        return holds.size();
+    }
+
+    public void shutdown() {
+        wheel.stop();
+    }
+
+    // Called by the timing wheel once a hold's deadline has passed
+    private void expire(SeatHold hold) {
+        if (!hold.finish("EXPIRED")) {
+            return;
+        }
+        holds.remove(hold.getHoldId());
+        hold.getFlight().releaseHeldSeats(hold.getSeatCount());
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,61 @@
+// Waitlist class: priority-ordered queue of passengers waiting for seats on one flight
+//
+// Not thread-safe on its own; Flight guards it with its own lock. Every operation is O(log n).
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+class Waitlist {
+    private static final Comparator<WaitlistEntry> ORDER =
+            Comparator.comparingInt(WaitlistEntry::getPriority).reversed()
+                    .thenComparingLong(WaitlistEntry::getSequence);
+
+    private final TreeSet<WaitlistEntry> queue;
+    private final Map<String, WaitlistEntry> byPassenger;
+
+    public Waitlist() {
+        this.queue = new TreeSet<>(ORDER);
+        this.byPassenger = new HashMap<>();
+    }
+
+    // Returns false if the passenger is already waiting on this flight
+    public boolean add(WaitlistEntry entry) {
+        String passengerId = entry.getPassenger().getPassengerId();
+        if (byPassenger.containsKey(passengerId)) {
+            return false;
+        }
+        byPassenger.put(passengerId, entry);
+        queue.add(entry);
+        return true;
+    }
+
+    // Next passenger to serve, or null if nobody is waiting
+    public WaitlistEntry poll() {
+        WaitlistEntry entry = queue.pollFirst();
+        if (entry != null) {
+            byPassenger.remove(entry.getPassenger().getPassengerId());
+        }
+        return entry;
+    }
+
+    public WaitlistEntry remove(String passengerId) {
+        WaitlistEntry entry = byPassenger.remove(passengerId);
+        if (entry != null) {
+            queue.remove(entry);
+        }
+        return entry;
+    }
+
+    public WaitlistEntry find(String passengerId) {
+        return byPassenger.get(passengerId);
+    }
+
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    public int size() {
+        return queue.size();
+    }
+}
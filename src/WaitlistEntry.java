@@ -0,0 +1,45 @@
+// WaitlistEntry class: a passenger waiting for a seat on a full flight
+import java.time.LocalDateTime;
+
+class WaitlistEntry {
+    private final Passenger passenger;
+    private final String flightNumber;
+    private final int priority; // higher is served first, e.g. loyalty tier
+    private final long sequence; // first come, first served within a priority
+    private final LocalDateTime joinedAt;
+    private String status; // WAITING, PROMOTED, REMOVED
+    private String bookingId;
+
+    public WaitlistEntry(Passenger passenger, String flightNumber, int priority, long sequence) {
+        this.passenger = passenger;
+        this.flightNumber = flightNumber;
+        this.priority = priority;
+        this.sequence = sequence;
+        this.joinedAt = LocalDateTime.now();
+        this.status = "WAITING";
+    }
+
+    // Getters
+    public Passenger getPassenger() { return passenger; }
+    public String getFlightNumber() { return flightNumber; }
+    public int getPriority() { return priority; }
+    public long getSequence() { return sequence; }
+    public LocalDateTime getJoinedAt() { return joinedAt; }
+    public synchronized String getStatus() { return status; }
+    public synchronized String getBookingId() { return bookingId; }
+
+    synchronized void markPromoted(String bookingId) {
+        this.status = "PROMOTED";
+        this.bookingId = bookingId;
+    }
+
+    synchronized void markRemoved() {
+        this.status = "REMOVED";
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Waitlist: %s on %s (priority %d, %s%s)", passenger.getFullName(), flightNumber,
+                priority, getStatus(), getBookingId() != null ? ", booking " + getBookingId() : "");
+    }
+}